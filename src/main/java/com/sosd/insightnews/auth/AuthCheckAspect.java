@@ -4,50 +4,73 @@ import com.sosd.insightnews.exception.http.BadRequestException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
-import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 public class AuthCheckAspect {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    // MIXED 模式：表达式可编译时编译为字节码执行，编译后执行失败则自动回退到解释执行
+    private final SpelExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, AuthCheckAspect.class.getClassLoader()));
+
+    // 按 (方法, 目标类) 缓存解析后的表达式和参数名
+    private final Map<AnnotatedElementKey, CompiledCheck> checkCache = new ConcurrentHashMap<>(64);
 
     @Autowired
     private ApplicationContext applicationContext;
 
     private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+    private BeanFactoryResolver beanResolver;
+
+    @PostConstruct
+    public void init() {
+        beanResolver = new BeanFactoryResolver(applicationContext);
+    }
+
     @Around("@annotation(authCheck)")
     public Object handleCustomAnnotation(ProceedingJoinPoint joinPoint, AuthCheck authCheck) throws Throwable {
 
-        // 获取注解中的表达式
-        String expression = authCheck.value();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Class<?> targetClass = AopProxyUtils.ultimateTargetClass(joinPoint.getTarget());
+        CompiledCheck check = checkCache.computeIfAbsent(
+                new AnnotatedElementKey(signature.getMethod(), targetClass),
+                key -> compile(signature.getMethod(), targetClass, authCheck.value()));
 
-        // 获取方法的参数
+        // 创建SpEL上下文，参数可通过 #参数名、#p0、#a0 引用
         Object[] args = joinPoint.getArgs();
-        Method method = getMethod(joinPoint);
-
-        // 创建SpEL上下文
-        StandardEvaluationContext context = new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer);
+        StandardEvaluationContext context = new StandardEvaluationContext();
         // 注册 BeanResolver，用于解析 Bean
-        context.setBeanResolver(new BeanFactoryResolver(applicationContext));
-
-        // 解析表达式
-        Boolean result = parser.parseExpression(expression).getValue(context, Boolean.class);
+        context.setBeanResolver(beanResolver);
+        for (int i = 0; i < args.length; i++) {
+            if (check.parameterNames != null) {
+                context.setVariable(check.parameterNames[i], args[i]);
+            }
+            context.setVariable("p" + i, args[i]);
+            context.setVariable("a" + i, args[i]);
+        }
 
-        // 在此可以对结果做逻辑处理
-        // System.out.println("解析后的表达式结果：" + result);
+        Boolean result = check.expression.getValue(context, Boolean.class);
 
         if (result == null || !result) {
             throw new BadRequestException("权限不足");
@@ -57,10 +80,19 @@ public class AuthCheckAspect {
         return joinPoint.proceed();
     }
 
-    private Method getMethod(ProceedingJoinPoint joinPoint) throws NoSuchMethodException {
-        Method method = joinPoint.getTarget().getClass()
-                .getMethod(joinPoint.getSignature().getName(),
-                        ((org.aspectj.lang.reflect.MethodSignature) joinPoint.getSignature()).getParameterTypes());
-        return method;
+    private CompiledCheck compile(Method method, Class<?> targetClass, String expression) {
+        Method targetMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        return new CompiledCheck(parser.parseExpression(expression),
+                parameterNameDiscoverer.getParameterNames(targetMethod));
+    }
+
+    private static class CompiledCheck {
+        private final Expression expression;
+        private final String[] parameterNames;
+
+        CompiledCheck(Expression expression, String[] parameterNames) {
+            this.expression = expression;
+            this.parameterNames = parameterNames;
+        }
     }
 }
@@ -1,7 +1,6 @@
 package com.sosd.insightnews.auth;
 
 import com.sosd.insightnews.auth.permission.PermissionOps;
-import com.sosd.insightnews.auth.role.RoleType;
 import com.sosd.insightnews.context.UserContext;
 import org.springframework.stereotype.Component;
 
@@ -9,22 +8,15 @@ import org.springframework.stereotype.Component;
 public class AuthChecker {
 
     public boolean isAdmin() {
-        return UserContext.getCurrentUser().getRoles().stream().anyMatch(role ->
-                role.getRoleid().equals(RoleType.ADMIN)
-        );
+        return UserContext.getCurrentUser().getAuthSnapshot().hasRole(AuthSnapshot.ADMIN);
     }
 
     public boolean isUser() {
-        return UserContext.getCurrentUser().getRoles().stream().anyMatch(role ->
-                role.getRoleid().equals(RoleType.USER)
-        );
+        return UserContext.getCurrentUser().getAuthSnapshot().hasRole(AuthSnapshot.USER);
     }
 
     public boolean hasModifyUserPermission(String userId) {
-        return UserContext.getCurrentUser().getPermissions().stream().anyMatch(permission ->
-                permission.getOperation().equals(PermissionOps.MODIFY_USER)
-                        && permission.getTarget().equals(userId)
-        );
+        return UserContext.getCurrentUser().getAuthSnapshot().hasPermission(PermissionOps.MODIFY_USER, userId);
     }
 
 
@@ -0,0 +1,79 @@
+package com.sosd.insightnews.auth;
+
+import com.sosd.insightnews.auth.role.RoleType;
+import com.sosd.insightnews.domain.PermissionDo;
+import com.sosd.insightnews.domain.RoleDo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户授权快照
+ * 加载用户时预编译，粗粒度角色压缩为位图，权限按 (operation, target) 建立哈希索引，
+ * 鉴权时为 O(1) 查找且不产生对象分配。快照创建后不可变。
+ */
+public final class AuthSnapshot {
+
+    // 粗粒度角色的位下标，细粒度角色(如 UserSelf+userId)数量随用户增长，不进入位图
+    public static final int ADMIN = 0;
+    public static final int USER = 1;
+
+    private static final Map<String, Integer> ROLE_BITS = Map.of(
+            RoleType.ADMIN, ADMIN,
+            RoleType.USER, USER
+    );
+
+    private static final AuthSnapshot EMPTY = new AuthSnapshot(0L, Collections.emptyMap());
+
+    private final long roleBits;
+    private final Map<String, Set<String>> permissionIndex;
+
+    private AuthSnapshot(long roleBits, Map<String, Set<String>> permissionIndex) {
+        this.roleBits = roleBits;
+        this.permissionIndex = permissionIndex;
+    }
+
+    public static AuthSnapshot compile(List<RoleDo> roles, List<PermissionDo> permissions) {
+        if ((roles == null || roles.isEmpty()) && (permissions == null || permissions.isEmpty())) {
+            return EMPTY;
+        }
+        long roleBits = 0L;
+        if (roles != null) {
+            for (RoleDo role : roles) {
+                Integer bit = ROLE_BITS.get(role.getRoleid());
+                if (bit != null) {
+                    roleBits |= 1L << bit;
+                }
+            }
+        }
+        Map<String, Set<String>> index = new HashMap<>();
+        if (permissions != null) {
+            for (PermissionDo permission : permissions) {
+                if (permission.getOperation() == null || permission.getTarget() == null) {
+                    continue;
+                }
+                index.computeIfAbsent(permission.getOperation(), operation -> new HashSet<>())
+                        .add(permission.getTarget());
+            }
+        }
+        index.replaceAll((operation, targets) -> Set.copyOf(targets));
+        return new AuthSnapshot(roleBits, Map.copyOf(index));
+    }
+
+    public boolean hasRole(int bit) {
+        return (roleBits & (1L << bit)) != 0;
+    }
+
+    public boolean hasPermission(String operation, String target) {
+        // 不可变 Map 不接受 null 键查询
+        if (operation == null || target == null) {
+            return false;
+        }
+        Set<String> targets = permissionIndex.get(operation);
+        return targets != null && targets.contains(target);
+    }
+}
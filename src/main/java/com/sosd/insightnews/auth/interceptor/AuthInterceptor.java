@@ -1,11 +1,12 @@
 package com.sosd.insightnews.auth.interceptor;
 
 
+import com.sosd.insightnews.cache.UserCache;
 import com.sosd.insightnews.context.UserContext;
 import com.sosd.insightnews.domain.UserDo;
 import com.sosd.insightnews.exception.http.BadRequestException;
 import com.sosd.insightnews.service.UserService;
-import com.sosd.insightnews.service.impl.UserServiceImpl;
+import com.sosd.insightnews.util.JwtClaims;
 import com.sosd.insightnews.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
@@ -21,6 +22,9 @@ public class AuthInterceptor implements HandlerInterceptor {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserCache userCache;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         // 从请求头中获取用户信息
@@ -29,18 +33,15 @@ public class AuthInterceptor implements HandlerInterceptor {
             throw new BadRequestException("未登录");
         }
 
-        if (!JwtUtil.verify(header)) {
-            throw new BadRequestException("token验证失败 请重新登录");
-        }
-
-        String userId = JwtUtil.getUserId(header);
-        if (userId == null) {
+        JwtClaims claims = JwtUtil.parseAndVerify(header);
+        if (claims == null) {
             throw new BadRequestException("token验证失败 请重新登录");
         }
+        String userId = claims.getUserId();
         // String requestURI = request.getRequestURI();
         // System.out.println("Request URI: " + requestURI + ", User ID: " + userId);
 
-        UserDo userDo = userService.getUserById(userId);
+        UserDo userDo = userCache.get(userId, userService::getUserById);
 
         if (userDo == null) {
             throw new BadRequestException("用户不存在");
@@ -0,0 +1,60 @@
+package com.sosd.insightnews.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 互动集合回填
+ * 从数据库读取的成员只在集合不存在时写入，集合已存在说明其他请求已回填或已在其上切换，
+ * 不能用数据库中可能落后的状态覆盖
+ */
+@Component
+public class ReactionSetWarmer {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private DefaultRedisScript<Long> warmMembersScript;
+
+    /**
+     * 以一次流水线回填多个 SET，每个键由脚本原子地判断是否存在并写入成员和过期时间
+     * @param members 键 -> 成员(包含占位成员)
+     * @param ttl 过期时间
+     */
+    public void warmSets(Map<String, List<String>> members, Duration ttl) {
+        if (members.isEmpty()) {
+            return;
+        }
+        // 流水线中无法在 NOSCRIPT 时回退，直接发送脚本内容
+        byte[] script = warmMembersScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] ttlSeconds = String.valueOf(ttl.getSeconds()).getBytes(StandardCharsets.UTF_8);
+        byte[] arity = "1".getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            members.forEach((key, values) -> eval(connection, script, key, ttlSeconds, arity, values));
+            return null;
+        });
+    }
+
+    private static void eval(RedisConnection connection, byte[] script, String key,
+                             byte[] ttlSeconds, byte[] arity, List<String> values) {
+        byte[][] keysAndArgs = new byte[values.size() + 3][];
+        keysAndArgs[0] = key.getBytes(StandardCharsets.UTF_8);
+        keysAndArgs[1] = ttlSeconds;
+        keysAndArgs[2] = arity;
+        for (int i = 0; i < values.size(); i++) {
+            keysAndArgs[i + 3] = values.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, keysAndArgs);
+    }
+}
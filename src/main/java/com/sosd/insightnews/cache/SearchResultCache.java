@@ -0,0 +1,126 @@
+package com.sosd.insightnews.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.event.TopicChangedEvent;
+import com.sosd.insightnews.util.properties.TopicProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 话题搜索结果缓存
+ * 以归一化后的关键词为键缓存话题ID列表，同一关键词并发未命中时只有一个线程执行查询；
+ * 任意话题写入后清空所有节点的缓存
+ */
+@Component
+@Slf4j
+public class SearchResultCache implements MessageListener {
+
+    @Autowired
+    private TopicProperties topicProperties;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private Cache<String, List<Long>> cache;
+
+    // 每次失效递增，进行中的旧查询结果写入旧代际的键，不会再被读取
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(topicProperties.getSearchCacheMaxSize())
+                .expireAfterWrite(topicProperties.getSearchCacheTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOPIC_SEARCH_INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 获取关键词的搜索结果，未命中时以规范化后的关键词调用 loader 加载，
+     * 同一缓存键下的结果总是由同一个查询字符串得到
+     * @param keyword 关键词
+     * @param loader 查询函数，参数为规范化后的关键词
+     * @return 话题ID列表
+     */
+    public List<Long> get(String keyword, Function<String, List<Long>> loader) {
+        String normalized = normalize(keyword);
+        String key = generation.get() + ":" + normalized;
+        try {
+            return cache.get(key, () -> loader.apply(normalized));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        invalidateAll();
+        stringRedisTemplate.convertAndSend(RedisConstants.TOPIC_SEARCH_INVALIDATE_CHANNEL, String.valueOf(event.getTopicId()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateAll();
+    }
+
+    /**
+     * 清空本节点的搜索结果缓存
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 缓存统计：命中率与平均加载耗时
+     */
+    public Map<String, Object> getStats() {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", cacheStats.requestCount());
+        stats.put("hitRatio", cacheStats.hitRate());
+        stats.put("avgLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000.0);
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("size", cache.size());
+        return stats;
+    }
+
+    @Scheduled(fixedRate = 5 * 60 * 1000)
+    public void logStats() {
+        log.info("话题搜索结果缓存统计：{}", getStats());
+    }
+}
@@ -0,0 +1,160 @@
+package com.sosd.insightnews.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import com.sosd.insightnews.event.TopicChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 科普话题读穿缓存
+ * L1 为进程内缓存，L2 为每个话题一个 Redis 键，各自带随机偏移的过期时间，
+ * 批量读取时以一次 MGET 查询 L2，只对未命中的ID回源一次数据库。
+ * 话题写入提交后删除 L2 并通过 Redis 发布订阅通知所有节点清除 L1。
+ */
+@Component
+public class TopicCache implements MessageListener {
+
+    private static final long L1_MAXIMUM_SIZE = 10_000;
+    private static final long L1_EXPIRE_MINUTES = 10;
+    // L2 过期时间的随机偏移上限(分钟)
+    private static final long L2_EXPIRE_JITTER_MINUTES = 10;
+
+    private final Cache<Long, ScienceTopic> localCache = CacheBuilder.newBuilder()
+            .maximumSize(L1_MAXIMUM_SIZE)
+            .expireAfterWrite(L1_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private ScienceTopicMapper scienceTopicMapper;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOPIC_CACHE_INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 获取单个话题
+     * @param topicId 话题ID
+     * @return ScienceTopic or null
+     */
+    public ScienceTopic get(Long topicId) {
+        List<ScienceTopic> topics = getAll(List.of(topicId));
+        return topics.isEmpty() ? null : topics.get(0);
+    }
+
+    /**
+     * 批量获取话题，依次查询 L1、L2，剩余未命中的ID一次批量查询数据库
+     * @param topicIds 话题ID列表
+     * @return 按入参顺序排列的话题列表，不存在的话题被跳过
+     */
+    public List<ScienceTopic> getAll(List<Long> topicIds) {
+        if (topicIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(topicIds);
+        Map<Long, ScienceTopic> found = new HashMap<>(localCache.getAllPresent(distinctIds));
+
+        // L2：一次 MGET
+        List<Long> l1Misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!l1Misses.isEmpty()) {
+            List<Object> values = redisTemplate.opsForValue().multiGet(l1Misses.stream().map(this::key).toList());
+            for (int i = 0; i < l1Misses.size(); i++) {
+                if (values != null && values.get(i) instanceof ScienceTopic) {
+                    ScienceTopic topic = (ScienceTopic) values.get(i);
+                    found.put(l1Misses.get(i), topic);
+                    localCache.put(l1Misses.get(i), topic);
+                }
+            }
+        }
+
+        // 数据库：一次批量查询剩余未命中的ID，并回填两级缓存
+        List<Long> l2Misses = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!l2Misses.isEmpty()) {
+            List<ScienceTopic> loaded = scienceTopicMapper.selectBatchIds(l2Misses);
+            for (ScienceTopic topic : loaded) {
+                found.put(topic.getId(), topic);
+                localCache.put(topic.getId(), topic);
+            }
+            if (!loaded.isEmpty()) {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        for (ScienceTopic topic : loaded) {
+                            ops.opsForValue().set(key(topic.getId()), topic, l2Ttl());
+                        }
+                        return null;
+                    }
+                });
+            }
+        }
+
+        List<ScienceTopic> result = new ArrayList<>(topicIds.size());
+        for (Long topicId : topicIds) {
+            ScienceTopic topic = found.get(topicId);
+            if (topic != null) {
+                result.add(topic);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 话题写入提交后失效缓存，避免其他请求在提交前回填旧数据；没有事务时立即执行
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        localCache.invalidate(event.getTopicId());
+        redisTemplate.delete(key(event.getTopicId()));
+        stringRedisTemplate.convertAndSend(RedisConstants.TOPIC_CACHE_INVALIDATE_CHANNEL, String.valueOf(event.getTopicId()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        localCache.invalidate(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    private String key(Long topicId) {
+        return RedisConstants.TOPIC_CACHE_KEY + topicId;
+    }
+
+    private static Duration l2Ttl() {
+        return Duration.ofMinutes(RedisConstants.TOPIC_CACHE_TTL + ThreadLocalRandom.current().nextLong(L2_EXPIRE_JITTER_MINUTES + 1));
+    }
+}
@@ -0,0 +1,148 @@
+package com.sosd.insightnews.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.domain.UserDo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 用户信息二级缓存
+ * L1 为进程内缓存，L2 为 Redis，缓存包含角色和权限的完整 UserDo。
+ * 失效时删除 L2 并通过 Redis 发布订阅通知所有节点清除 L1。
+ */
+@Component
+@Slf4j
+public class UserCache implements MessageListener {
+
+    private static final long L1_MAXIMUM_SIZE = 10_000;
+    private static final long L1_EXPIRE_MINUTES = 5;
+
+    private final Cache<String, UserDo> localCache = CacheBuilder.newBuilder()
+            .maximumSize(L1_MAXIMUM_SIZE)
+            .expireAfterWrite(L1_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.USER_CACHE_INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 依次查询 L1、L2，均未命中时调用 loader 加载并回填两级缓存
+     * @param userId 用户ID
+     * @param loader 数据库加载函数
+     * @return UserDo or null
+     */
+    public UserDo get(String userId, Function<String, UserDo> loader) {
+        UserDo userDo = localCache.getIfPresent(userId);
+        if (userDo != null) {
+            l1Hits.increment();
+            return userDo;
+        }
+
+        String key = RedisConstants.USER_CACHE_KEY + userId;
+        Object cached = redisTemplate.opsForValue().get(key);
+        if (cached instanceof UserDo) {
+            l2Hits.increment();
+            userDo = (UserDo) cached;
+            localCache.put(userId, userDo);
+            return userDo;
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        userDo = loader.apply(userId);
+        loadNanos.add(System.nanoTime() - start);
+        if (userDo != null) {
+            redisTemplate.opsForValue().set(key, userDo, RedisConstants.USER_CACHE_TTL, TimeUnit.MINUTES);
+            localCache.put(userId, userDo);
+        }
+        return userDo;
+    }
+
+    /**
+     * 失效用户缓存，存在事务时在提交后执行，避免其他请求回填旧数据
+     * @param userId 用户ID
+     */
+    public void invalidate(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(userId);
+                }
+            });
+        } else {
+            doInvalidate(userId);
+        }
+    }
+
+    private void doInvalidate(String userId) {
+        localCache.invalidate(userId);
+        redisTemplate.delete(RedisConstants.USER_CACHE_KEY + userId);
+        stringRedisTemplate.convertAndSend(RedisConstants.USER_CACHE_INVALIDATE_CHANNEL, userId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String userId = new String(message.getBody(), StandardCharsets.UTF_8);
+        localCache.invalidate(userId);
+    }
+
+    /**
+     * 缓存统计：命中率与平均加载耗时
+     */
+    public Map<String, Object> getStats() {
+        long l1 = l1Hits.sum();
+        long l2 = l2Hits.sum();
+        long miss = misses.sum();
+        long total = l1 + l2 + miss;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", total);
+        stats.put("l1HitRatio", total == 0 ? 0.0 : (double) l1 / total);
+        stats.put("l2HitRatio", total == 0 ? 0.0 : (double) l2 / total);
+        stats.put("missRatio", total == 0 ? 0.0 : (double) miss / total);
+        stats.put("avgLoadMillis", miss == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / miss);
+        stats.put("l1Size", localCache.size());
+        return stats;
+    }
+
+    @Scheduled(fixedRate = 5 * 60 * 1000)
+    public void logStats() {
+        log.info("用户缓存统计：{}", getStats());
+    }
+}
@@ -0,0 +1,113 @@
+package com.sosd.insightnews.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sosd.insightnews.constant.RedisConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户ID字典
+ * 将手机号形式的用户ID映射为从1开始的稠密整数编号，互动集合中以编号代替用户ID，
+ * 整数成员的集合可使用 intset 紧凑编码。intset 只用于成员数不超过 set-max-intset-entries
+ * (默认512)的集合，超过后 Redis 转为 hashtable 编码，此时每个成员仍节省的只是编号比手机号短的部分，
+ * 互动人数很多的热门集合大部分内存收益会消失。编号一经分配不再变化，本地缓存无需失效。
+ * 只读查询使用 {@link #findId}，不为从未互动过的用户分配编号
+ */
+@Component
+public class UserIdDictionary {
+
+    private static final long LOCAL_MAXIMUM_SIZE = 100_000;
+
+    private final Cache<String, Long> localCache = CacheBuilder.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .build();
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> userDictAssignScript;
+
+    /**
+     * 查询已分配的用户编号，不分配新编号
+     * @param userId 用户ID
+     * @return 用户编号，未分配时返回 null，此时用户不在任何互动集合中
+     */
+    public Long findId(String userId) {
+        Long id = localCache.getIfPresent(userId);
+        if (id != null) {
+            return id;
+        }
+        Object value = stringRedisTemplate.opsForHash().get(RedisConstants.USER_DICT_KEY, userId);
+        if (value == null) {
+            return null;
+        }
+        id = Long.valueOf(value.toString());
+        localCache.put(userId, id);
+        return id;
+    }
+
+    /**
+     * 获取用户编号，未分配时分配新编号
+     * @param userId 用户ID
+     * @return 用户编号
+     */
+    public long idOf(String userId) {
+        return idsOf(List.of(userId)).get(userId);
+    }
+
+    /**
+     * 批量获取用户编号：本地缓存、一次 HMGET，仍未分配的由一次脚本调用原子分配
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 用户编号
+     */
+    public Map<String, Long> idsOf(Collection<String> userIds) {
+        Map<String, Long> ids = new HashMap<>(localCache.getAllPresent(userIds));
+        List<String> misses = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (!ids.containsKey(userId)) {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return ids;
+        }
+
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(RedisConstants.USER_DICT_KEY, new ArrayList<>(misses));
+        List<String> unassigned = new ArrayList<>();
+        for (int i = 0; i < misses.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                unassigned.add(misses.get(i));
+            } else {
+                cache(ids, misses.get(i), Long.valueOf(value.toString()));
+            }
+        }
+        if (unassigned.isEmpty()) {
+            return ids;
+        }
+
+        List<?> assigned = stringRedisTemplate.execute(userDictAssignScript,
+                List.of(RedisConstants.USER_DICT_KEY, RedisConstants.USER_DICT_SEQ_KEY), unassigned.toArray());
+        for (int i = 0; i < unassigned.size(); i++) {
+            cache(ids, unassigned.get(i), ((Number) assigned.get(i)).longValue());
+        }
+        return ids;
+    }
+
+    private void cache(Map<String, Long> ids, String userId, Long id) {
+        ids.put(userId, id);
+        localCache.put(userId, id);
+    }
+}
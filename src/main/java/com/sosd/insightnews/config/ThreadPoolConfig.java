@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class ThreadPoolConfig {
@@ -23,4 +24,17 @@ public class ThreadPoolConfig {
         // 转换为 ExecutorService，便于手动管理线程
         return executor.getThreadPoolExecutor();
     }
+
+    @Bean(name = "flushThreadPool")
+    public ExecutorService flushThreadPool() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        // 批量刷入会处理全部待刷数据，已有任务排队时直接丢弃新的触发
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("flush-");
+        executor.initialize();
+        return executor.getThreadPoolExecutor();
+    }
 }
\ No newline at end of file
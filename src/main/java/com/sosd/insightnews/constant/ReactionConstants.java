@@ -0,0 +1,15 @@
+package com.sosd.insightnews.constant;
+
+public class ReactionConstants {
+    // 互动类型
+    public static final String COMMENT_LIKE = "comment_like";
+    public static final String TOPIC_FAVORITE = "topic_favorite";
+    public static final String NEWS_LIKE = "news_like";
+    public static final String NEWS_DISLIKE = "news_dislike";
+    public static final String NEWS_FAVORITE = "news_favorite";
+
+    // 已从数据库回填的互动集合中的占位成员，用于区分 "已回填但为空" 与 "已过期"
+    public static final String LOADED_MARKER = "-";
+    // 整数成员集合使用的占位成员，保持集合的 intset 紧凑编码
+    public static final String LOADED_MARKER_ID = "0";
+}
@@ -8,23 +8,57 @@ public class RedisConstants {
     public static final Long VERIFY_CODE_TTL= 3L;
     public static final Long LOGIN_USER_TTL = 36000L;
 
+    // 用户缓存相关常量
+    public static final String USER_CACHE_KEY = "user:cache:";
+    public static final Long USER_CACHE_TTL = 30L;
+    public static final String USER_CACHE_INVALIDATE_CHANNEL = "user:cache:invalidate";
+
+    // 用户ID字典：用户ID -> 稠密整数编号
+    public static final String USER_DICT_KEY = "{user:dict}";
+    public static final String USER_DICT_SEQ_KEY = "{user:dict}:seq";
+
     // 科普话题相关常量
     public static final String TOPIC_VIEW_COUNT_KEY = "topic:view:count";
+    public static final String TOPIC_VIEW_CATEGORY_KEY = "topic:view:count:category:";
+    public static final String TOPIC_VIEW_CATEGORIES_KEY = "topic:view:categories";
+    public static final String TOPIC_VIEW_BUCKET_KEY = "topic:view:bucket:";
+    public static final String TOPIC_TRENDING_KEY = "topic:trending";
+    // 每个话题一个键，过期时间(分钟)附加随机偏移，避免同时过期
+    public static final String TOPIC_CACHE_KEY = "topic:cache:";
+    public static final Long TOPIC_CACHE_TTL = 60L;
+    public static final String TOPIC_CACHE_INVALIDATE_CHANNEL = "topic:cache:invalidate";
+    public static final String TOPIC_SEARCH_INVALIDATE_CHANNEL = "topic:search:invalidate";
     public static final String USER_SEARCH_HISTORY_KEY = "user:search:history:";
     public static final String HOT_SEARCH_TOPIC_KEY = "hot:search:topic";
     public static final int MAX_SEARCH_HISTORY = 9;
     public static final int MAX_HOT_TOPICS = 10;
 
     // 点赞和收藏相关常量
+    // 已废弃：成员为用户ID字符串的旧点赞集合，仅用于迁移
     public static final String COMMENT_LIKE_KEY = "comment:like:";
+    // 评论点赞集合，成员为用户稠密编号
+    public static final String COMMENT_LIKER_KEY = "comment:liker:";
+    // 已废弃：点赞数改为 SCARD 计算，仅用于迁移时清理旧计数键
     public static final String COMMENT_LIKE_COUNT_KEY = "comment:like:count:";
+    public static final String COMMENT_LIKE_MIGRATED_KEY = "comment:like:migrated:v2";
+    public static final String COMMENT_LIKE_MIGRATION_LOCK_KEY = "comment:like:migrating:v2";
     public static final String USER_FAVORITE_TOPICS_KEY = "topic:favorite:userId:";
     public static final String TOPIC_FAVORITE_COUNT_KEY = "topic:favorite:count:";
+    public static final String TOPIC_FAVORITE_MIGRATED_KEY = "topic:favorite:migrated";
+    public static final String TOPIC_FAVORITE_MIGRATION_LOCK_KEY = "topic:favorite:migrating";
+    // 迁移锁过期时间(分钟)，持有锁的节点异常退出后其他节点可重新迁移
+    public static final Long MIGRATION_LOCK_TTL = 60L;
+
+    // 评论相关常量
+    public static final String TOPIC_COMMENT_COUNT_KEY = "topic:comment:count:";
 
     // 新闻检测相关常量
+    // 新闻点赞、点踩、收藏集合，成员为用户稠密编号
     public static final String NEWS_LIKE_KEY = "news:like:";
+    // 已废弃：点赞数改为 SCARD 计算
     public static final String NEWS_LIKE_COUNT_KEY = "news:like:count:";
     public static final String NEWS_DISLIKE_KEY = "news:dislike:";
     public static final String NEWS_FAVORITE_KEY = "news:favorite:";
+    // 已废弃：收藏数改为 SCARD 计算
     public static final String NEWS_FAVORITE_COUNT_KEY = "news:favorite:count:";
 }
@@ -42,15 +42,33 @@ public class TopicController {
     /**
      * 获取热点话题列表
      * @param category 分类
+     * @param page 页码
+     * @param pageSize 每页条数
      * @return 热点话题列表
      */
     @GetMapping("")
-    public R<List<TopicDTO>> getHotTopics(@RequestParam(required = false) String category) {
-        log.info("获取热点话题列表");
-        List<TopicDTO> topics = scienceTopicService.getHotTopics(category);
+    public R<List<TopicDTO>> getHotTopics(@RequestParam(required = false) String category,
+                                          @RequestParam(defaultValue = "1") int page,
+                                          @RequestParam(defaultValue = "20") int pageSize) {
+        log.info("获取热点话题列表, category:{}, page:{}, pageSize:{}", category, page, pageSize);
+        List<TopicDTO> topics = scienceTopicService.getHotTopics(category, page, pageSize);
         return R.ok("成功获取热点话题列表",topics);
     }
 
+    /**
+     * 获取趋势话题列表
+     * @param page 页码
+     * @param pageSize 每页条数
+     * @return 趋势话题列表
+     */
+    @GetMapping("/trending")
+    public R<List<TopicDTO>> getTrendingTopics(@RequestParam(defaultValue = "1") int page,
+                                               @RequestParam(defaultValue = "20") int pageSize) {
+        log.info("获取趋势话题列表, page:{}, pageSize:{}", page, pageSize);
+        List<TopicDTO> topics = scienceTopicService.getTrendingTopics(page, pageSize);
+        return R.ok("成功获取趋势话题列表",topics);
+    }
+
     /**
      * 搜索话题
      * @param keyword 关键词
@@ -64,6 +82,20 @@ public class TopicController {
         return R.ok("成功搜索话题",topics);
     }
 
+    /**
+     * 话题标题前缀补全
+     * @param prefix 输入前缀
+     * @param limit 最多返回条数
+     * @return 候选标题列表
+     */
+    @GetMapping("/suggest")
+    public R<List<String>> suggestTopics(@RequestParam String prefix,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        log.info("获取话题补全建议, prefix:{}, limit:{}", prefix, limit);
+        List<String> suggestions = scienceTopicService.suggestTopics(prefix, limit);
+        return R.ok("成功获取补全建议",suggestions);
+    }
+
     /**
      * 获取热门搜索话题
      * @return 热门话题标题列表
@@ -130,6 +162,19 @@ public class TopicController {
         return R.ok("查询评论列表成功",commentList);
     }
 
+    /**
+     * 根据话题ID游标分页查询评论列表
+     *
+     * @param queryDTO 查询参数
+     * @return 评论列表
+     */
+    @GetMapping("/comment/cursor/{topicId}")
+    public R<CursorPageBean<CommentsVO>> getCommentListByCursor(@Validated CommentsCursorQueryDTO queryDTO, @PathVariable Long topicId) {
+        log.info("游标查询评论列表, topicId:{}, cursor:{}", topicId, queryDTO.getCursor());
+        CursorPageBean<CommentsVO> commentList = commentsService.getCommentsByTopicIdCursor(queryDTO, topicId);
+        return R.ok("查询评论列表成功",commentList);
+    }
+
     /**
      * 删除评论/回复
      * @param commentId 评论/回复ID
@@ -160,12 +205,14 @@ public class TopicController {
      * 获取评论的回复列表
      *
      * @param commentId 评论ID
+     * @param cursor 分页游标，首页不传
      * @return 回复列表
      */
     @GetMapping("/comment/replies/{commentId}")
-    public R<List<CommentsVO>> getCommentReplies(@PathVariable Long commentId) {
-        log.info("获取评论回复列表, commentId:{}", commentId);
-        List<CommentsVO> replies = commentsService.getCommentReplies(commentId);
+    public R<CursorPageBean<CommentsVO>> getCommentReplies(@PathVariable Long commentId,
+                                                           @RequestParam(required = false) String cursor) {
+        log.info("获取评论回复列表, commentId:{}, cursor:{}", commentId, cursor);
+        CursorPageBean<CommentsVO> replies = commentsService.getCommentReplies(commentId, cursor);
         return R.ok("获取评论回复列表成功", replies);
     }
 
@@ -40,6 +40,11 @@ public class Comments implements Serializable {
      */
     private Long parentId;
 
+    /**
+     * 物化路径(从顶级评论到自身的ID序列，形如 /1/5/9/)
+     */
+    private String path;
+
     /**
      * 业务状态：1 评论 2 回复
      */
@@ -0,0 +1,47 @@
+package com.sosd.insightnews.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 用户互动表
+ * @TableName Reaction
+ */
+@TableName(value ="Reaction")
+@Data
+public class Reaction {
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 互动类型
+     */
+    private String targetType;
+
+    /**
+     * 互动对象ID
+     */
+    private Long targetId;
+
+    /**
+     * 用户ID
+     */
+    private String userId;
+
+    /**
+     * 1 有效，0 已取消
+     */
+    private Integer active;
+
+    /**
+     * 最近一次变更时间
+     */
+    private Date updatedAt;
+}
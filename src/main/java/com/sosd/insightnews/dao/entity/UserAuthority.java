@@ -0,0 +1,40 @@
+package com.sosd.insightnews.dao.entity;
+
+import lombok.Data;
+
+/**
+ * 用户角色权限联表查询结果
+ * 每行对应一个 (角色, 权限) 组合，角色没有权限时权限字段为空
+ */
+@Data
+public class UserAuthority {
+    /**
+     * 角色主键
+     */
+    private Integer roleId;
+
+    /**
+     * 角色名称(对应 Role.roleid)
+     */
+    private String roleName;
+
+    /**
+     * 角色备注
+     */
+    private String roleDescription;
+
+    /**
+     * 权限主键
+     */
+    private Integer permissionId;
+
+    /**
+     * 权限操作
+     */
+    private String operation;
+
+    /**
+     * 操作对象
+     */
+    private String target;
+}
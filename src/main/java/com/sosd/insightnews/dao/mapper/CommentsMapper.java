@@ -3,10 +3,29 @@ package com.sosd.insightnews.dao.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sosd.insightnews.dao.entity.Comments;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 评论留言表 Mapper 接口
  */
 @Mapper
 public interface CommentsMapper extends BaseMapper<Comments> {
-}
\ No newline at end of file
+
+    /**
+     * 批量查询每个父评论下最新的若干条回复
+     * @param parentIds 父评论ID列表
+     * @param limit 每个父评论返回的回复条数
+     * @return 按父评论分组、创建时间倒序排列的回复列表
+     */
+    List<Comments> selectLatestChildren(@Param("parentIds") List<Long> parentIds, @Param("limit") int limit);
+
+    /**
+     * 按物化路径统计顶级评论下的回复总数(包含所有层级)
+     * @param rootIds 顶级评论ID列表
+     * @return 每行包含 rootId 和 replyCount，没有回复的顶级评论不返回
+     */
+    List<Map<String, Object>> selectReplyCounts(@Param("rootIds") List<Long> rootIds);
+}
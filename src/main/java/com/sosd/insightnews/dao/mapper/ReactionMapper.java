@@ -0,0 +1,22 @@
+package com.sosd.insightnews.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sosd.insightnews.dao.entity.Reaction;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 用户互动表 Mapper 接口
+ */
+@Mapper
+public interface ReactionMapper extends BaseMapper<Reaction> {
+
+    /**
+     * 批量写入互动状态，已存在的 (类型, 对象, 用户) 只在变更时间不早于已有记录时更新状态和时间
+     * @param reactions 互动列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("reactions") List<Reaction> reactions);
+}
@@ -2,8 +2,19 @@ package com.sosd.insightnews.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sosd.insightnews.dao.entity.User;
+import com.sosd.insightnews.dao.entity.UserAuthority;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 联表查询用户的角色及权限
+     * @param userId 用户ID
+     * @return 扁平化的 (角色, 权限) 行
+     */
+    List<UserAuthority> selectAuthoritiesByUserId(@Param("userId") String userId);
 }
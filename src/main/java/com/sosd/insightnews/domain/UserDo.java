@@ -1,6 +1,10 @@
 package com.sosd.insightnews.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sosd.insightnews.auth.AuthSnapshot;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Date;
 import java.util.List;
@@ -21,4 +25,17 @@ public class UserDo {
     // optional:
     private List<RoleDo> roles;
     private List<PermissionDo> permissions;
+
+    // 预编译的授权快照，不参与序列化，从缓存反序列化后首次访问时重建
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AuthSnapshot authSnapshot;
+
+    public AuthSnapshot getAuthSnapshot() {
+        if (authSnapshot == null) {
+            authSnapshot = AuthSnapshot.compile(roles, permissions);
+        }
+        return authSnapshot;
+    }
 }
@@ -0,0 +1,30 @@
+package com.sosd.insightnews.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+@Data
+public class CommentsCursorQueryDTO implements Serializable {
+
+    /**
+     * 分页游标，首页不传
+     */
+    private String cursor;
+
+    /**
+     * 每页显示记录数
+     */
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer pageSize = 10;
+
+    /**
+     * 是否返回近似总数(读取Redis计数器，不执行COUNT查询)
+     */
+    private boolean withTotal;
+}
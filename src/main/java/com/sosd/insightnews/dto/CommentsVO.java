@@ -43,6 +43,11 @@ public class CommentsVO implements Serializable {
      */
     private Integer likeCount;
 
+    /**
+     * 回复总数(包含所有层级)，仅顶级评论返回
+     */
+    private Integer replyCount;
+
     // 用户是否点赞
     private boolean isLike;
 
@@ -61,6 +66,9 @@ public class CommentsVO implements Serializable {
 
     // 子评论列表
     private List<CommentsVO> children;
+
+    // 是否还有未加载的回复，需通过回复列表接口继续获取
+    private boolean hasMoreReplies;
 }
 
 
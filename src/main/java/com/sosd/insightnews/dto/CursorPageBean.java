@@ -0,0 +1,16 @@
+package com.sosd.insightnews.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页查询结果封装类
+ */
+@Data
+public class CursorPageBean<T> {
+    private List<T> items; // 当前页数据
+    private String nextCursor; // 下一页游标，没有更多数据时为null
+    private boolean hasMore; // 是否还有更多数据
+    private Long total; // 近似总记录数，未请求时为null
+}
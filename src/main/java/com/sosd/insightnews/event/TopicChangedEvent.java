@@ -0,0 +1,18 @@
+package com.sosd.insightnews.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 科普话题新增、修改或删除事件
+ */
+@Getter
+public class TopicChangedEvent extends ApplicationEvent {
+
+    private final Long topicId;
+
+    public TopicChangedEvent(Object source, Long topicId) {
+        super(source);
+        this.topicId = topicId;
+    }
+}
@@ -0,0 +1,484 @@
+package com.sosd.insightnews.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.cache.SearchResultCache;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import com.sosd.insightnews.util.properties.TopicProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 话题全文倒排索引
+ * 对标题和总结分词后建立 词项 -> (话题ID -> 词频) 的倒排表，查询要求命中全部查询词项并按 BM25 排序；
+ * 字母数字词项按前缀匹配(quant 命中 quantum)，不支持词中间的子串匹配。
+ * 话题写入提交后经 Redis 发布订阅通知所有节点增量更新，索引以正排形式快照到内存映射文件，启动时直接加载快照
+ */
+@Slf4j
+@Component
+public class TopicSearchIndex implements MessageListener {
+
+    private static final int SNAPSHOT_MAGIC = 0x54534958;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    // BM25 参数
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 标题中的词项按该倍数计入词频，使标题命中排在总结命中之前
+    private static final int TITLE_WEIGHT = 2;
+
+    // 单个前缀最多展开的整词数，避免过短的前缀合并大量倒排表
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    @Autowired
+    private ScienceTopicMapper scienceTopicMapper;
+
+    @Autowired
+    private TopicProperties topicProperties;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private IndexData data = new IndexData();
+
+    // 全量重建期间变更的话题ID，重建完成切换前重新应用到新索引；不在重建时为 null，由写锁保护
+    private Set<Long> changedDuringRebuild;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOPIC_CACHE_INVALIDATE_CHANNEL));
+    }
+
+    private volatile boolean ready;
+
+    /**
+     * 索引是否已完成首次加载，未就绪时调用方应回退到数据库查询
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 搜索话题
+     * @param keyword 关键词
+     * @param limit 最多返回条数
+     * @return 按相关度降序排列的话题ID
+     */
+    public List<Long> search(String keyword, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TopicTokenizer.tokenizeForQuery(keyword)));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> posting = data.posting(term);
+                if (posting.isEmpty()) {
+                    return new ArrayList<>();
+                }
+                termPostings.add(posting);
+            }
+            // 从最短的倒排表出发求交集
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int docCount = data.docLengths.size();
+            double avgLength = (double) data.totalLength / docCount;
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+
+            List<ScoredTopic> hits = new ArrayList<>();
+            candidates:
+            for (Long topicId : termPostings.get(0).keySet()) {
+                double lengthNorm = K1 * (1 - B + B * data.docLengths.get(topicId) / avgLength);
+                double score = 0;
+                for (int i = 0; i < termPostings.size(); i++) {
+                    Integer tf = termPostings.get(i).get(topicId);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    score += idf[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                }
+                hits.add(new ScoredTopic(topicId, score));
+            }
+            return hits.stream()
+                    .sorted(Comparator.comparingDouble(ScoredTopic::score).reversed()
+                            .thenComparing(ScoredTopic::topicId, Comparator.reverseOrder()))
+                    .limit(limit)
+                    .map(ScoredTopic::topicId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 启动时加载快照，并补充索引快照之后新增的话题；没有可用快照时全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        Long maxTopicId = loadSnapshot();
+        if (maxTopicId == null) {
+            rebuild();
+            return;
+        }
+        IndexData loaded = data;
+        int added = loadTopics(maxTopicId, loaded);
+        ready = true;
+        log.info("话题搜索索引快照加载完成，话题数量：{}，新增话题：{}", loaded.docLengths.size(), added);
+    }
+
+    /**
+     * 全量重建索引，用于补齐停机期间话题的修改和删除
+     */
+    @Scheduled(initialDelayString = "${topic.search-index-rebuild-millis:3600000}",
+            fixedDelayString = "${topic.search-index-rebuild-millis:3600000}")
+    public void rebuild() {
+        IndexData rebuilt = new IndexData();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loadTopics(0L, rebuilt);
+        // 重放加载期间的增量更新，直到没有新的变更后再切换索引
+        while (true) {
+            List<Long> changed;
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild.isEmpty()) {
+                    data = rebuilt;
+                    changedDuringRebuild = null;
+                    break;
+                }
+                changed = new ArrayList<>(changedDuringRebuild);
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Map<Long, ScienceTopic> topics = new HashMap<>();
+            scienceTopicMapper.selectBatchIds(changed).forEach(topic -> topics.put(topic.getId(), topic));
+            lock.writeLock().lock();
+            try {
+                for (Long topicId : changed) {
+                    rebuilt.remove(topicId);
+                    if (topics.containsKey(topicId)) {
+                        rebuilt.add(topicId, analyze(topics.get(topicId)));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        log.info("话题搜索索引重建完成，话题数量：{}", rebuilt.docLengths.size());
+        saveSnapshot();
+    }
+
+    /**
+     * 从数据库重新读取单个话题并更新索引，话题已删除时从索引移除
+     * @param topicId 话题ID
+     */
+    public void refreshTopic(Long topicId) {
+        ScienceTopic topic = scienceTopicMapper.selectById(topicId);
+        lock.writeLock().lock();
+        try {
+            data.remove(topicId);
+            if (topic != null) {
+                data.add(topic.getId(), analyze(topic));
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(topicId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // 索引更新后再清空搜索结果缓存，避免缓存期间读到旧索引的结果
+        searchResultCache.invalidateAll();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refreshTopic(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!ready) {
+            return;
+        }
+        byte[] bytes;
+        lock.readLock().lock();
+        try {
+            bytes = data.serialize();
+        } catch (IOException e) {
+            log.error("话题搜索索引序列化失败", e);
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path path = Paths.get(topicProperties.getSearchIndexPath());
+        Path tmpPath = Paths.get(topicProperties.getSearchIndexPath() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes.length);
+                buffer.put(bytes);
+                buffer.force();
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("话题搜索索引快照写入失败：{}", path, e);
+        }
+    }
+
+    /**
+     * 以内存映射方式读取快照
+     * @return 快照中的最大话题ID，快照不存在或格式不符时返回 null
+     */
+    private Long loadSnapshot() {
+        Path path = Paths.get(topicProperties.getSearchIndexPath());
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+                log.warn("话题搜索索引快照格式不匹配，将全量重建：{}", path);
+                return null;
+            }
+            IndexData loaded = IndexData.deserialize(buffer);
+            lock.writeLock().lock();
+            try {
+                data = loaded;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return loaded.docLengths.keySet().stream().max(Long::compare).orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            log.warn("话题搜索索引快照读取失败，将全量重建：{}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 按ID分批加载大于 afterId 的话题并写入索引
+     * @return 加载的话题数
+     */
+    private int loadTopics(Long afterId, IndexData target) {
+        int count = 0;
+        long lastId = afterId;
+        while (true) {
+            LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(ScienceTopic::getId, ScienceTopic::getTitle, ScienceTopic::getDescription)
+                    .gt(ScienceTopic::getId, lastId)
+                    .orderByAsc(ScienceTopic::getId)
+                    .last("LIMIT " + LOAD_BATCH_SIZE);
+            List<ScienceTopic> topics = scienceTopicMapper.selectList(queryWrapper);
+            if (topics.isEmpty()) {
+                return count;
+            }
+            Map<Long, Map<String, Integer>> analyzed = new HashMap<>();
+            for (ScienceTopic topic : topics) {
+                analyzed.put(topic.getId(), analyze(topic));
+            }
+            lock.writeLock().lock();
+            try {
+                analyzed.forEach((topicId, terms) -> {
+                    target.remove(topicId);
+                    target.add(topicId, terms);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+            count += topics.size();
+            lastId = topics.get(topics.size() - 1).getId();
+        }
+    }
+
+    private Map<String, Integer> analyze(ScienceTopic topic) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : TopicTokenizer.tokenizeForIndex(topic.getTitle())) {
+            terms.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : TopicTokenizer.tokenizeForIndex(topic.getDescription())) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    private static class ScoredTopic {
+        private final Long topicId;
+        private final double score;
+
+        ScoredTopic(Long topicId, double score) {
+            this.topicId = topicId;
+            this.score = score;
+        }
+
+        Long topicId() {
+            return topicId;
+        }
+
+        double score() {
+            return score;
+        }
+    }
+
+    /**
+     * 倒排表及其正排，正排用于删除、更新话题和写快照
+     */
+    private static class IndexData {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> docTerms = new HashMap<>();
+        private final Map<Long, Integer> docLengths = new HashMap<>();
+        // 有序的字母数字词项，用于前缀展开
+        private final NavigableSet<String> wordTerms = new TreeSet<>();
+        private long totalLength;
+
+        /**
+         * 查询词项的倒排表，字母数字词项合并所有以其为前缀的整词，词频相加
+         */
+        Map<Long, Integer> posting(String term) {
+            if (!TopicTokenizer.isWordToken(term)) {
+                return postings.getOrDefault(term, Map.of());
+            }
+            NavigableSet<String> expansions = wordTerms.subSet(term, true, term + Character.MAX_VALUE, false);
+            if (expansions.isEmpty()) {
+                return Map.of();
+            }
+            if (expansions.higher(expansions.first()) == null) {
+                return postings.get(expansions.first());
+            }
+            Map<Long, Integer> merged = new HashMap<>();
+            int expanded = 0;
+            for (String word : expansions) {
+                if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                postings.get(word).forEach((topicId, tf) -> merged.merge(topicId, tf, Integer::sum));
+            }
+            return merged;
+        }
+
+        void add(Long topicId, Map<String, Integer> terms) {
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(topicId, entry.getValue());
+                if (TopicTokenizer.isWordToken(entry.getKey())) {
+                    wordTerms.add(entry.getKey());
+                }
+                length += entry.getValue();
+            }
+            docTerms.put(topicId, terms);
+            docLengths.put(topicId, length);
+            totalLength += length;
+        }
+
+        void remove(Long topicId) {
+            Map<String, Integer> terms = docTerms.remove(topicId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(topicId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    wordTerms.remove(term);
+                }
+            }
+            totalLength -= docLengths.remove(topicId);
+        }
+
+        /**
+         * 快照格式：magic、version、话题数，随后每个话题依次为 ID、词项数、(词项长度、词项UTF-8、词频)*
+         */
+        byte[] serialize() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(docTerms.size());
+            for (Map.Entry<Long, Map<String, Integer>> doc : docTerms.entrySet()) {
+                out.writeLong(doc.getKey());
+                out.writeInt(doc.getValue().size());
+                for (Map.Entry<String, Integer> term : doc.getValue().entrySet()) {
+                    byte[] termBytes = term.getKey().getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(termBytes.length);
+                    out.write(termBytes);
+                    out.writeInt(term.getValue());
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        static IndexData deserialize(ByteBuffer buffer) {
+            IndexData loaded = new IndexData();
+            int docCount = buffer.getInt();
+            for (int i = 0; i < docCount; i++) {
+                long topicId = buffer.getLong();
+                int termCount = buffer.getInt();
+                Map<String, Integer> terms = new HashMap<>(termCount * 2);
+                for (int j = 0; j < termCount; j++) {
+                    byte[] termBytes = new byte[buffer.getShort() & 0xFFFF];
+                    buffer.get(termBytes);
+                    terms.put(new String(termBytes, StandardCharsets.UTF_8), buffer.getInt());
+                }
+                loaded.add(topicId, terms);
+            }
+            return loaded;
+        }
+    }
+}
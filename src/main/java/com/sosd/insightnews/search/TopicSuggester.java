@@ -0,0 +1,339 @@
+package com.sosd.insightnews.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 话题标题前缀补全
+ * 字典树的每个节点预先保存以该节点为前缀的热度前 K 个候选词，查询只需沿前缀走到节点并截取结果；
+ * 候选词来自话题标题和热门搜索，按热门搜索分数排序，分数或标题变化时只更新受影响路径上的节点；
+ * 话题写入提交后经 Redis 发布订阅通知所有节点更新标题
+ */
+@Slf4j
+@Component
+public class TopicSuggester implements MessageListener {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // 参与补全排序的热门搜索条数
+    private static final int HOT_SEARCH_LIMIT = 1000;
+
+    @Autowired
+    private ScienceTopicMapper scienceTopicMapper;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+
+    // 归一化后的词 -> 候选词
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+
+    // 话题ID -> 标题，用于话题修改或删除时找到旧标题
+    private final Map<Long, String> topicTitles = new HashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisConstants.TOPIC_CACHE_INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 前缀补全
+     * @param prefix 前缀
+     * @param limit 最多返回条数，不超过 {@link #MAX_SUGGESTIONS}
+     * @return 按热度降序排列的候选词
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            return node.top.stream()
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(suggestion -> suggestion.text)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(ScienceTopic::getId, ScienceTopic::getTitle);
+        List<ScienceTopic> topics = scienceTopicMapper.selectList(queryWrapper);
+        lock.writeLock().lock();
+        try {
+            for (ScienceTopic topic : topics) {
+                putTopicTitle(topic.getId(), topic.getTitle());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshHotSearch();
+        log.info("话题补全字典加载完成，候选词数量：{}", suggestions.size());
+    }
+
+    /**
+     * 从数据库重新读取单个话题的标题，话题已删除时移除其标题
+     * @param topicId 话题ID
+     */
+    public void refreshTopic(Long topicId) {
+        ScienceTopic topic = scienceTopicMapper.selectById(topicId);
+        lock.writeLock().lock();
+        try {
+            putTopicTitle(topicId, topic == null ? null : topic.getTitle());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refreshTopic(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 同步热门搜索分数，只有分数发生变化的候选词会触发节点更新
+     */
+    @Scheduled(initialDelayString = "${topic.suggest-refresh-millis:60000}",
+            fixedDelayString = "${topic.suggest-refresh-millis:60000}")
+    public void refreshHotSearch() {
+        Set<ZSetOperations.TypedTuple<Object>> hotSearches = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(RedisConstants.HOT_SEARCH_TOPIC_KEY, 0, HOT_SEARCH_LIMIT - 1);
+        Map<String, Double> scores = new HashMap<>();
+        Map<String, String> texts = new HashMap<>();
+        if (hotSearches != null) {
+            for (ZSetOperations.TypedTuple<Object> tuple : hotSearches) {
+                if (tuple.getValue() == null || tuple.getScore() == null) {
+                    continue;
+                }
+                String text = tuple.getValue().toString();
+                String key = normalize(text);
+                if (!key.isEmpty()) {
+                    scores.merge(key, tuple.getScore(), Math::max);
+                    texts.putIfAbsent(key, text);
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 掉出热门搜索的候选词分数归零，不是话题标题的直接移除
+            for (Suggestion suggestion : new ArrayList<>(suggestions.values())) {
+                if (suggestion.hot && !scores.containsKey(suggestion.key)) {
+                    suggestion.hot = false;
+                    double oldScore = suggestion.score;
+                    suggestion.score = 0;
+                    if (suggestion.topicRefs == 0) {
+                        remove(suggestion);
+                    } else if (oldScore > 0) {
+                        updatePath(suggestion, false);
+                    }
+                }
+            }
+            scores.forEach((key, score) -> {
+                Suggestion suggestion = suggestions.get(key);
+                if (suggestion == null) {
+                    suggestion = new Suggestion(key, texts.get(key));
+                    suggestion.hot = true;
+                    suggestion.score = score;
+                    add(suggestion);
+                    return;
+                }
+                suggestion.hot = true;
+                if (suggestion.score != score) {
+                    boolean increased = score > suggestion.score;
+                    suggestion.score = score;
+                    updatePath(suggestion, increased);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 设置话题标题，title 为 null 表示话题已删除；调用方需持有写锁
+     */
+    private void putTopicTitle(Long topicId, String title) {
+        String oldTitle = title == null ? topicTitles.remove(topicId) : topicTitles.put(topicId, title);
+        if (oldTitle != null) {
+            Suggestion old = suggestions.get(normalize(oldTitle));
+            if (old != null && --old.topicRefs == 0 && !old.hot) {
+                remove(old);
+            }
+        }
+        if (title == null) {
+            return;
+        }
+        String key = normalize(title);
+        if (key.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.get(key);
+        if (suggestion == null) {
+            suggestion = new Suggestion(key, title);
+            add(suggestion);
+        }
+        suggestion.topicRefs++;
+    }
+
+    private void add(Suggestion suggestion) {
+        suggestions.put(suggestion.key, suggestion);
+        Node node = root;
+        for (int i = 0; i < suggestion.key.length(); i++) {
+            node = node.children.computeIfAbsent(suggestion.key.charAt(i), c -> new Node());
+        }
+        node.terminal = suggestion;
+        updatePath(suggestion, true);
+    }
+
+    private void remove(Suggestion suggestion) {
+        suggestions.remove(suggestion.key);
+        List<Node> path = path(suggestion.key);
+        path.get(path.size() - 1).terminal = null;
+        // 自底向上重算并剪除空节点
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (node.top.remove(suggestion)) {
+                recompute(node);
+            }
+            if (i > 0 && node.terminal == null && node.children.isEmpty()) {
+                path.get(i - 1).children.remove(suggestion.key.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * 分数上升时逐个节点插入或上移；分数下降时自底向上用子节点的前 K 个候选重算
+     */
+    private void updatePath(Suggestion suggestion, boolean increased) {
+        List<Node> path = path(suggestion.key);
+        if (increased) {
+            for (Node node : path) {
+                node.top.remove(suggestion);
+                insertSorted(node.top, suggestion);
+                if (node.top.size() > MAX_SUGGESTIONS) {
+                    node.top.remove(node.top.size() - 1);
+                }
+            }
+            return;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (node.top.contains(suggestion)) {
+                recompute(node);
+            }
+        }
+    }
+
+    private void recompute(Node node) {
+        Set<Suggestion> candidates = new HashSet<>();
+        if (node.terminal != null) {
+            candidates.add(node.terminal);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        List<Suggestion> top = new ArrayList<>();
+        for (Suggestion candidate : candidates) {
+            insertSorted(top, candidate);
+        }
+        node.top = new ArrayList<>(top.subList(0, Math.min(top.size(), MAX_SUGGESTIONS)));
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static void insertSorted(List<Suggestion> list, Suggestion suggestion) {
+        int index = 0;
+        while (index < list.size() && compare(list.get(index), suggestion) <= 0) {
+            index++;
+        }
+        list.add(index, suggestion);
+    }
+
+    /**
+     * 分数高的在前，分数相同时短词在前
+     */
+    private static int compare(Suggestion a, Suggestion b) {
+        int byScore = Double.compare(b.score, a.score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byLength = Integer.compare(a.key.length(), b.key.length());
+        return byLength != 0 ? byLength : a.key.compareTo(b.key);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Suggestion terminal;
+        private List<Suggestion> top = new ArrayList<>(2);
+    }
+
+    private static class Suggestion {
+        private final String key;
+        private final String text;
+        private double score;
+        // 是否在热门搜索中
+        private boolean hot;
+        // 使用该标题的话题数
+        private int topicRefs;
+
+        Suggestion(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+}
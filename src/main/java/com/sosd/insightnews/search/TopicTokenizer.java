@@ -0,0 +1,78 @@
+package com.sosd.insightnews.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 话题搜索分词器
+ * 连续的汉字切分为二元组(bigram)，字母数字按整词切分并转为小写
+ */
+public class TopicTokenizer {
+
+    private TopicTokenizer() {
+    }
+
+    /**
+     * 索引分词：汉字同时产出单字和二元组，使单字查询也能命中
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询分词：长度不小于2的汉字串只产出二元组，单个汉字产出单字
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase();
+        int i = 0;
+        while (i < lower.length()) {
+            char c = lower.charAt(i);
+            if (isCjk(c)) {
+                int start = i;
+                while (i < lower.length() && isCjk(lower.charAt(i))) {
+                    i++;
+                }
+                addCjkTokens(lower.substring(start, i), withUnigrams, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < lower.length() && Character.isLetterOrDigit(lower.charAt(i)) && !isCjk(lower.charAt(i))) {
+                    i++;
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 是否为字母数字词项，查询时此类词项按前缀匹配索引中的整词
+     */
+    public static boolean isWordToken(String token) {
+        return !token.isEmpty() && !isCjk(token.charAt(0));
+    }
+
+    private static void addCjkTokens(String run, boolean withUnigrams, List<String> tokens) {
+        if (run.length() == 1 || withUnigrams) {
+            for (int j = 0; j < run.length(); j++) {
+                tokens.add(run.substring(j, j + 1));
+            }
+        }
+        for (int j = 0; j + 1 < run.length(); j++) {
+            tokens.add(run.substring(j, j + 2));
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sosd.insightnews.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 评论点赞存储接口
+ */
+public interface CommentLikeService {
+
+    /**
+     * 切换点赞状态
+     * @param commentId 评论ID
+     * @param userId 用户ID
+     * @return true 点赞，false 取消点赞
+     */
+    boolean toggleLike(Long commentId, String userId);
+
+    /**
+     * 批量获取点赞数
+     * @param commentIds 评论ID列表
+     * @return 评论ID -> 点赞数
+     */
+    Map<Long, Integer> countLikes(List<Long> commentIds);
+
+    /**
+     * 批量判断用户的点赞状态
+     * @param userId 用户ID
+     * @param commentIds 评论ID列表
+     * @return 其中用户已点赞的评论ID
+     */
+    Set<Long> filterLiked(String userId, List<Long> commentIds);
+
+    /**
+     * 移除用户在给定评论上的点赞
+     * @param userId 用户ID
+     * @param commentIds 评论ID列表
+     */
+    void removeLikes(String userId, List<Long> commentIds);
+}
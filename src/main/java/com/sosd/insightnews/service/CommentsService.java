@@ -2,13 +2,13 @@ package com.sosd.insightnews.service;
 
 import com.sosd.insightnews.dao.entity.Comments;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.sosd.insightnews.dto.CommentsCursorQueryDTO;
 import com.sosd.insightnews.dto.CommentsDTO;
 import com.sosd.insightnews.dto.CommentsPageQueryDTO;
 import com.sosd.insightnews.dto.CommentsVO;
+import com.sosd.insightnews.dto.CursorPageBean;
 import com.sosd.insightnews.dto.PageBean;
 
-import java.util.List;
-
 /**
  * 评论留言服务接口
  */
@@ -18,9 +18,11 @@ public interface CommentsService extends IService<Comments> {
 
     PageBean<CommentsVO> getCommentsByTopicId(CommentsPageQueryDTO queryDTO, Long topicId);
 
+    CursorPageBean<CommentsVO> getCommentsByTopicIdCursor(CommentsCursorQueryDTO queryDTO, Long topicId);
+
     boolean toggleLikeComment(Long commentId, String userId);
 
     void deleteComment(Long commentId, String userId);
 
-    List<CommentsVO> getCommentReplies(Long commentId);
+    CursorPageBean<CommentsVO> getCommentReplies(Long commentId, String cursor);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.sosd.insightnews.service;
+
+import com.sosd.insightnews.dto.NewsDTO;
+
+import java.util.List;
+
+/**
+ * 新闻点赞、点踩、收藏存储接口
+ */
+public interface NewsReactionService {
+
+    /**
+     * 切换收藏状态
+     * @param newsId 新闻ID
+     * @param userId 用户ID
+     * @return true 收藏，false 取消收藏
+     */
+    boolean toggleFavorite(Long newsId, String userId);
+
+    /**
+     * 切换点踩状态，点踩时同时取消点赞
+     * @param newsId 新闻ID
+     * @param userId 用户ID
+     * @return true 点踩，false 取消点踩
+     */
+    boolean toggleDislike(Long newsId, String userId);
+
+    /**
+     * 批量填充新闻列表的 isDislike、isCollect、likeCount、favoriteCount
+     * @param newsList 新闻列表
+     * @param userId 当前用户ID
+     */
+    void markReactions(List<NewsDTO> newsList, String userId);
+}
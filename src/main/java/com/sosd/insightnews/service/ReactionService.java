@@ -0,0 +1,56 @@
+package com.sosd.insightnews.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户互动持久化服务接口
+ * Redis 为互动的读写入口，变更异步批量写入数据库，Redis 数据过期后从数据库回填
+ */
+public interface ReactionService {
+
+    /**
+     * 记录一次互动状态变更，先在本地合并，再批量写入数据库
+     * @param type 互动类型
+     * @param targetId 互动对象ID
+     * @param userId 用户ID
+     * @param active true 建立互动，false 取消互动
+     */
+    void record(String type, Long targetId, String userId, boolean active);
+
+    /**
+     * 记录一次指定时间的互动状态变更，用于迁移已有数据
+     * @param timeMillis 互动时间(毫秒)
+     */
+    void record(String type, Long targetId, String userId, boolean active, long timeMillis);
+
+    /**
+     * 批量查询对象的有效互动用户，包含本节点尚未写入数据库的变更
+     * @param type 互动类型
+     * @param targetIds 互动对象ID列表
+     * @return 对象ID -> 用户ID集合，没有互动的对象对应空集合
+     */
+    Map<Long, Set<String>> loadUsers(String type, List<Long> targetIds);
+
+    /**
+     * 批量统计对象的有效互动数，包含本节点尚未写入数据库的变更
+     * @param type 互动类型
+     * @param targetIds 互动对象ID列表
+     * @return 对象ID -> 互动数，没有互动的对象对应0
+     */
+    Map<Long, Integer> countUsers(String type, List<Long> targetIds);
+
+    /**
+     * 查询用户的有效互动对象，包含本节点尚未写入数据库的变更
+     * @param type 互动类型
+     * @param userId 用户ID
+     * @return 对象ID -> 互动时间(毫秒)
+     */
+    Map<Long, Long> loadTargets(String type, String userId);
+
+    /**
+     * 将缓冲的互动变更写入数据库
+     */
+    void flush();
+}
@@ -20,10 +20,21 @@ public interface ScienceTopicService extends IService<ScienceTopic> {
     TopicDetailDTO getTopicById(Long topicId);
 
     /**
-     * 获取热点话题列表
+     * 分页获取热点话题列表
+     * @param category 分类，为空时返回全站榜单
+     * @param page 页码，从1开始
+     * @param pageSize 每页条数
      * @return 热点话题列表
      */
-    List<TopicDTO> getHotTopics(String category);
+    List<TopicDTO> getHotTopics(String category, int page, int pageSize);
+
+    /**
+     * 分页获取趋势话题列表(近期浏览热度，随时间衰减)
+     * @param page 页码，从1开始
+     * @param pageSize 每页条数
+     * @return 趋势话题列表
+     */
+    List<TopicDTO> getTrendingTopics(int page, int pageSize);
 
     /**
      * 搜索话题
@@ -33,6 +44,14 @@ public interface ScienceTopicService extends IService<ScienceTopic> {
      */
     List<TopicDTO> searchTopics(String keyword, String userId);
 
+    /**
+     * 话题标题前缀补全
+     * @param prefix 前缀
+     * @param limit 最多返回条数
+     * @return 按搜索热度排序的候选标题
+     */
+    List<String> suggestTopics(String prefix, int limit);
+
     /**
      * 获取热门搜索话题
      * @return 热门话题标题列表
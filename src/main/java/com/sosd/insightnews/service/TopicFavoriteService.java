@@ -0,0 +1,40 @@
+package com.sosd.insightnews.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 话题收藏存储接口
+ */
+public interface TopicFavoriteService {
+
+    /**
+     * 切换收藏状态
+     * @param topicId 话题ID
+     * @param userId 用户ID
+     * @return true 收藏，false 取消收藏
+     */
+    boolean toggleFavorite(Long topicId, String userId);
+
+    /**
+     * 判断用户是否收藏了话题
+     * @param topicId 话题ID
+     * @param userId 用户ID
+     * @return 是否收藏
+     */
+    boolean isFavorited(Long topicId, String userId);
+
+    /**
+     * 获取用户收藏的话题ID
+     * @param userId 用户ID
+     * @return 按收藏时间倒序排列的话题ID
+     */
+    List<Long> getFavoriteTopicIds(String userId);
+
+    /**
+     * 批量获取话题关注人数
+     * @param topicIds 话题ID列表
+     * @return 话题ID -> 关注人数
+     */
+    Map<Long, Integer> countFavorites(List<Long> topicIds);
+}
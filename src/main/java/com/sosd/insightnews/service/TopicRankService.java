@@ -0,0 +1,40 @@
+package com.sosd.insightnews.service;
+
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+
+import java.util.List;
+
+/**
+ * 话题热度排行服务接口
+ */
+public interface TopicRankService {
+
+    /**
+     * 记录一次话题浏览，增量先在本地缓冲，再批量写入全站榜单、分类榜单和小时分桶
+     * @param topic 话题
+     */
+    void recordView(ScienceTopic topic);
+
+    /**
+     * 记录一次搜索命中的话题，相同标题的增量在本地合并后批量写入热门搜索榜单
+     * @param topics 搜索结果
+     */
+    void recordSearchHits(List<ScienceTopic> topics);
+
+    /**
+     * 分页获取热点话题ID
+     * @param category 分类，为空时取全站榜单
+     * @param page 页码，从1开始
+     * @param pageSize 每页条数
+     * @return 按浏览次数降序排列的话题ID
+     */
+    List<Long> getHotTopicIds(String category, int page, int pageSize);
+
+    /**
+     * 分页获取趋势话题ID(按时间衰减后的近期浏览热度排序)
+     * @param page 页码，从1开始
+     * @param pageSize 每页条数
+     * @return 按趋势热度降序排列的话题ID
+     */
+    List<Long> getTrendingTopicIds(int page, int pageSize);
+}
@@ -0,0 +1,325 @@
+package com.sosd.insightnews.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.cache.ReactionSetWarmer;
+import com.sosd.insightnews.cache.UserIdDictionary;
+import com.sosd.insightnews.constant.ReactionConstants;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.Comments;
+import com.sosd.insightnews.dao.mapper.CommentsMapper;
+import com.sosd.insightnews.service.CommentLikeService;
+import com.sosd.insightnews.service.ReactionService;
+import com.sosd.insightnews.util.properties.ReactionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 评论点赞存储实现类
+ * 每条评论一个点赞用户 SET，成员为用户稠密编号，点赞数直接取 SCARD，不再维护单独的计数键；
+ * 整页点赞状态由同一组集合通过一次流水线 SISMEMBER 判断，点赞只修改一个键，由脚本原子切换。
+ * 变更异步写入数据库，Redis 集合设置过期时间，过期后访问时从数据库回填，集合中的占位成员不计入点赞
+ */
+@Service
+@Slf4j
+public class CommentLikeServiceImpl implements CommentLikeService {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    // 旧点赞没有记录时间，以最早的时间写入数据库，迁移期间用户的切换总是更新
+    private static final long LEGACY_LIKE_TIME = 0L;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private CommentsMapper commentsMapper;
+
+    @Autowired
+    private DefaultRedisScript<Long> toggleMemberScript;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private ReactionProperties reactionProperties;
+
+    @Autowired
+    private UserIdDictionary userIdDictionary;
+
+    @Autowired
+    private ReactionSetWarmer reactionSetWarmer;
+
+    @Override
+    public boolean toggleLike(Long commentId, String userId) {
+        warmCommentSets(List.of(commentId), false);
+        String member = String.valueOf(userIdDictionary.idOf(userId));
+        Long added = stringRedisTemplate.execute(toggleMemberScript, List.of(likeKey(commentId)), member);
+        boolean liked = Long.valueOf(1).equals(added);
+        reactionService.record(ReactionConstants.COMMENT_LIKE, commentId, userId, liked);
+        stringRedisTemplate.expire(likeKey(commentId), ttl());
+        return liked;
+    }
+
+    @Override
+    public Map<Long, Integer> countLikes(List<Long> commentIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (commentIds.isEmpty()) {
+            return counts;
+        }
+        List<Object> sizes = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Long commentId : commentIds) {
+                    ops.opsForSet().size(likeKey(commentId));
+                }
+                return null;
+            }
+        });
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < commentIds.size(); i++) {
+            Object size = sizes.get(i);
+            if (size == null || ((Number) size).longValue() == 0) {
+                missingIds.add(commentIds.get(i));
+            } else {
+                // 扣除占位成员
+                counts.put(commentIds.get(i), ((Number) size).intValue() - 1);
+            }
+        }
+        // 已过期的集合一次从数据库回填
+        warmCommentSets(missingIds, true).forEach((commentId, users) -> counts.put(commentId, users.size()));
+        return counts;
+    }
+
+    @Override
+    public Set<Long> filterLiked(String userId, List<Long> commentIds) {
+        Set<Long> liked = new HashSet<>();
+        if (commentIds.isEmpty()) {
+            return liked;
+        }
+        // 只读查询不分配编号，没有编号的用户不在任何集合中，只需查询集合大小
+        Long denseId = userIdDictionary.findId(userId);
+        String member = denseId == null ? null : String.valueOf(denseId);
+        int step = member == null ? 1 : 2;
+        // 每条评论依次为集合大小、用户是否在集合中
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Long commentId : commentIds) {
+                    ops.opsForSet().size(likeKey(commentId));
+                    if (member != null) {
+                        ops.opsForSet().isMember(likeKey(commentId), member);
+                    }
+                }
+                return null;
+            }
+        });
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < commentIds.size(); i++) {
+            Object size = results.get(step * i);
+            if (size == null || ((Number) size).longValue() == 0) {
+                missingIds.add(commentIds.get(i));
+            } else if (member != null && Boolean.TRUE.equals(results.get(step * i + 1))) {
+                liked.add(commentIds.get(i));
+            }
+        }
+        warmCommentSets(missingIds, true).forEach((commentId, users) -> {
+            if (users.contains(userId)) {
+                liked.add(commentId);
+            }
+        });
+        return liked;
+    }
+
+    @Override
+    public void removeLikes(String userId, List<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return;
+        }
+        warmCommentSets(commentIds, false);
+        String member = String.valueOf(userIdDictionary.idOf(userId));
+        List<Object> removed = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Long commentId : commentIds) {
+                    ops.opsForSet().remove(likeKey(commentId), member);
+                }
+                return null;
+            }
+        });
+        for (int i = 0; i < commentIds.size(); i++) {
+            Object count = removed.get(i);
+            if (count != null && ((Number) count).longValue() > 0) {
+                reactionService.record(ReactionConstants.COMMENT_LIKE, commentIds.get(i), userId, false);
+            }
+        }
+    }
+
+    /**
+     * 从数据库回填评论点赞集合
+     * @param commentIds 评论ID列表
+     * @param knownMissing 为 true 时调用方已确认集合不存在，否则先检查
+     * @return 回填的评论ID -> 点赞用户ID集合
+     */
+    private Map<Long, Set<String>> warmCommentSets(List<Long> commentIds, boolean knownMissing) {
+        List<Long> missingIds = commentIds;
+        if (!knownMissing) {
+            List<Object> exists = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Long commentId : commentIds) {
+                        ops.hasKey(likeKey(commentId));
+                    }
+                    return null;
+                }
+            });
+            missingIds = new ArrayList<>();
+            for (int i = 0; i < commentIds.size(); i++) {
+                if (!Boolean.TRUE.equals(exists.get(i))) {
+                    missingIds.add(commentIds.get(i));
+                }
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<Long, Set<String>> likers = reactionService.loadUsers(ReactionConstants.COMMENT_LIKE, missingIds);
+        Set<String> userIds = new HashSet<>();
+        likers.values().forEach(userIds::addAll);
+        Map<String, Long> denseIds = userIdDictionary.idsOf(userIds);
+        Map<String, List<String>> sets = new HashMap<>();
+        likers.forEach((commentId, users) -> {
+            List<String> members = new ArrayList<>(users.size() + 1);
+            users.forEach(user -> members.add(String.valueOf(denseIds.get(user))));
+            members.add(ReactionConstants.LOADED_MARKER_ID);
+            sets.put(likeKey(commentId), members);
+        });
+        reactionSetWarmer.warmSets(sets, ttl());
+        return likers;
+    }
+
+    /**
+     * 一次性迁移：将旧的评论点赞 SET 写入数据库，旧集合设置过期时间，删除旧的点赞计数键。
+     * 迁移时服务已在处理请求，期间回填的编号集合缺少旧点赞，因此每批写入数据库后删除这批评论的编号集合，
+     * 下次访问时重新回填；旧点赞以最早的时间写入，不会覆盖迁移期间用户的切换。
+     * 只有取得迁移锁的节点执行迁移
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyLikes() {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstants.COMMENT_LIKE_MIGRATED_KEY))) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(RedisConstants.COMMENT_LIKE_MIGRATION_LOCK_KEY,
+                "1", Duration.ofMinutes(RedisConstants.MIGRATION_LOCK_TTL)))) {
+            log.info("其他节点正在迁移评论点赞");
+            return;
+        }
+        try {
+            // 取得锁之前其他节点可能刚完成迁移
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisConstants.COMMENT_LIKE_MIGRATED_KEY))) {
+                migrateLegacyLikeBatches();
+            }
+        } finally {
+            stringRedisTemplate.delete(RedisConstants.COMMENT_LIKE_MIGRATION_LOCK_KEY);
+        }
+    }
+
+    private void migrateLegacyLikeBatches() {
+        long lastId = 0;
+        int migrated = 0;
+        Set<String> users = new HashSet<>();
+        while (true) {
+            LambdaQueryWrapper<Comments> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(Comments::getId)
+                    .gt(Comments::getId, lastId)
+                    .orderByAsc(Comments::getId)
+                    .last("LIMIT " + BACKFILL_BATCH_SIZE);
+            List<Long> commentIds = commentsMapper.selectList(queryWrapper).stream().map(Comments::getId).toList();
+            if (commentIds.isEmpty()) {
+                break;
+            }
+            List<Object> likers = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Long commentId : commentIds) {
+                        ops.opsForSet().members(legacyLikeKey(commentId));
+                    }
+                    return null;
+                }
+            });
+            List<Long> legacyIds = new ArrayList<>();
+            for (int i = 0; i < commentIds.size(); i++) {
+                Object members = likers.get(i);
+                if (!(members instanceof Set) || ((Set<?>) members).isEmpty()) {
+                    continue;
+                }
+                for (Object member : (Set<?>) members) {
+                    String userId = member.toString();
+                    if (ReactionConstants.LOADED_MARKER.equals(userId)) {
+                        continue;
+                    }
+                    reactionService.record(ReactionConstants.COMMENT_LIKE, commentIds.get(i), userId, true, LEGACY_LIKE_TIME);
+                    users.add(userId);
+                }
+                legacyIds.add(commentIds.get(i));
+            }
+            // 先写入数据库，再删除可能缺少旧点赞的编号集合
+            reactionService.flush();
+            stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Long commentId : legacyIds) {
+                        ops.delete(likeKey(commentId));
+                        ops.expire(legacyLikeKey(commentId), ttl());
+                    }
+                    for (Long commentId : commentIds) {
+                        ops.delete(RedisConstants.COMMENT_LIKE_COUNT_KEY + commentId);
+                    }
+                    return null;
+                }
+            });
+            migrated += commentIds.size();
+            lastId = commentIds.get(commentIds.size() - 1);
+        }
+        stringRedisTemplate.opsForValue().set(RedisConstants.COMMENT_LIKE_MIGRATED_KEY, "1");
+        log.info("评论点赞迁移完成，评论数量：{}，用户数量：{}", migrated, users.size());
+    }
+
+    private String likeKey(Long commentId) {
+        return RedisConstants.COMMENT_LIKER_KEY + commentId;
+    }
+
+    private String legacyLikeKey(Long commentId) {
+        return RedisConstants.COMMENT_LIKE_KEY + commentId;
+    }
+
+    private Duration ttl() {
+        return Duration.ofHours(reactionProperties.getRedisTtlHours());
+    }
+}
@@ -1,30 +1,48 @@
 package com.sosd.insightnews.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sosd.insightnews.constant.RedisConstants;
 import com.sosd.insightnews.context.UserContext;
 import com.sosd.insightnews.dao.entity.Comments;
+import com.sosd.insightnews.dao.entity.User;
 import com.sosd.insightnews.dao.mapper.CommentsMapper;
 import com.sosd.insightnews.domain.UserDo;
+import com.sosd.insightnews.dto.CommentsCursorQueryDTO;
 import com.sosd.insightnews.dto.CommentsDTO;
 import com.sosd.insightnews.dto.CommentsPageQueryDTO;
 import com.sosd.insightnews.dto.CommentsVO;
+import com.sosd.insightnews.dto.CursorPageBean;
 import com.sosd.insightnews.dto.PageBean;
 import com.sosd.insightnews.exception.http.BadRequestException;
+import com.sosd.insightnews.service.CommentLikeService;
 import com.sosd.insightnews.service.CommentsService;
 import com.sosd.insightnews.service.UserService;
+import com.sosd.insightnews.util.CursorUtil;
 import com.sosd.insightnews.util.TimeUtil;
+import com.sosd.insightnews.util.properties.CommentProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 评论留言服务实现类
@@ -33,12 +51,27 @@ import java.util.List;
 @Slf4j
 public class CommentsServiceImpl extends ServiceImpl<CommentsMapper, Comments> implements CommentsService {
 
+    // 与 Comments.path 列长度一致，每层约占20个字符，约可容纳100层回复
+    private static final int MAX_PATH_LENGTH = 2048;
+
     @Autowired
     private UserService userService;
 
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
+    @Autowired
+    private CommentsMapper commentsMapper;
+
+    @Autowired
+    private CommentProperties commentProperties;
+
+    @Autowired
+    private CommentLikeService commentLikeService;
+
+    @Autowired
+    private DefaultRedisScript<Long> adjustExistingCounterScript;
+
     @Override
     @Transactional
     public void postComment(CommentsDTO commentsDTO, Long topicId) {
@@ -50,14 +83,32 @@ public class CommentsServiceImpl extends ServiceImpl<CommentsMapper, Comments> i
         String userId = UserContext.getCurrentUser().getId();
         comment.setUserId(userId);
         
+        // 预先分配ID，以便在插入前生成物化路径
+        comment.setId(IdWorker.getId());
+
         // 设置评论状态（1：评论 2：回复）
         if (comment.getParentId() == 0) {
             comment.setStatus(1);
+            comment.setPath("/" + comment.getId() + "/");
         } else {
+            Comments parent = getById(comment.getParentId());
+            if (parent == null || parent.getIsDeleted() == 1) {
+                throw new BadRequestException("回复的评论不存在");
+            }
             comment.setStatus(2);
+            String path = pathOf(parent) + comment.getId() + "/";
+            if (path.length() > MAX_PATH_LENGTH) {
+                throw new BadRequestException("回复层级过深");
+            }
+            comment.setPath(path);
         }
         comment.setIsDeleted(0);
         save(comment);
+
+        // 维护话题顶级评论数计数器
+        if (comment.getStatus() == 1) {
+            adjustCommentCount(topicId, 1);
+        }
     }
 
     @Override
@@ -77,79 +128,9 @@ public class CommentsServiceImpl extends ServiceImpl<CommentsMapper, Comments> i
         
         Page<Comments> commentPage = page(page, rootQuery);
         List<Comments> rootComments = commentPage.getRecords();
-        List<CommentsVO> result = new ArrayList<>();
 
-        for (Comments rootComment : rootComments) {
-            CommentsVO commentVO = new CommentsVO();
-            BeanUtils.copyProperties(rootComment, commentVO);
-            
-            // 从Redis获取点赞数
-            String countKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + rootComment.getId();
-            String likeKey = RedisConstants.COMMENT_LIKE_KEY + rootComment.getId();
-            String count = stringRedisTemplate.opsForValue().get(countKey);
-            commentVO.setLikeCount(count != null ? Integer.parseInt(count) : 0);
-            // 判断当前用户是否点赞
-            String userId = UserContext.getCurrentUser().getId();
-            Boolean isLiked = stringRedisTemplate.opsForSet().isMember(likeKey, userId);
-            commentVO.setLike(Boolean.TRUE.equals(isLiked));
-            
-            // 设置用户信息
-            UserDo user = userService.getUserById(rootComment.getUserId());
-            if (user != null) {
-                commentVO.setUsername(user.getName());
-                commentVO.setUserImg(user.getAvatar());
-            }
-            
-            // 格式化时间
-            if (rootComment.getCreatedAt() != null) {
-                commentVO.setCreatedAt(TimeUtil.df.format(rootComment.getCreatedAt()));
-            }
-            
-            // 获取最新的一条子评论
-            LambdaQueryWrapper<Comments> childQuery = new LambdaQueryWrapper<>();
-            childQuery
-                    .eq(Comments::getParentId, rootComment.getId())
-                    .eq(Comments::getIsDeleted, 0)
-                    .orderByDesc(Comments::getCreatedAt)
-                    .last("LIMIT 1");
-            
-            List<Comments> childComments = list(childQuery);
-            List<CommentsVO> children = new ArrayList<>();
-            
-            for (Comments childComment : childComments) {
-                CommentsVO childVO = new CommentsVO();
-                BeanUtils.copyProperties(childComment, childVO);
-                
-                // 从Redis获取子评论点赞数
-                String childCountKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + childComment.getId();
-                String childLikeKey = RedisConstants.COMMENT_LIKE_KEY + childComment.getId();
-                String childCount = stringRedisTemplate.opsForValue().get(childCountKey);
-                childVO.setLikeCount(childCount != null ? Integer.parseInt(childCount) : 0);
-                // 判断当前用户是否点赞
-                String childUserId = UserContext.getCurrentUser().getId();
-                Boolean childIsLiked = stringRedisTemplate.opsForSet().isMember(childLikeKey, childUserId);
-                childVO.setLike(Boolean.TRUE.equals(childIsLiked));
-
-                // 设置子评论用户信息
-                UserDo childUser = userService.getUserById(childComment.getUserId());
-                if (childUser != null) {
-                    childVO.setUsername(childUser.getName());
-                    childVO.setUserImg(childUser.getAvatar());
-                }
-                
-                // 格式化子评论时间
-                if (childComment.getCreatedAt() != null) {
-                    childVO.setCreatedAt(TimeUtil.df.format(childComment.getCreatedAt()));
-                }
+        List<CommentsVO> result = assembleRootComments(rootComments);
 
-                childVO.setChildren(new ArrayList<>());
-                children.add(childVO);
-            }
-            
-            commentVO.setChildren(children);
-            result.add(commentVO);
-        }
-        
         // 设置分页信息
         pageBean.setTotal(commentPage.getTotal());
         pageBean.setItems(result);
@@ -158,63 +139,115 @@ public class CommentsServiceImpl extends ServiceImpl<CommentsMapper, Comments> i
     }
     
     @Override
-    public List<CommentsVO> getCommentReplies(Long parentId) {
-        LambdaQueryWrapper<Comments> childQuery = new LambdaQueryWrapper<>();
-        childQuery
-                .eq(Comments::getParentId, parentId)
-                .eq(Comments::getIsDeleted, 0)
-                .orderByDesc(Comments::getCreatedAt);
-        List<Comments> childComments = list(childQuery);
-        List<CommentsVO> result = new ArrayList<>();
-        for (int i = 0; i < childComments.size(); i++) {
-            Comments childComment = childComments.get(i);
-            CommentsVO childVO = new CommentsVO();
-            BeanUtils.copyProperties(childComment, childVO);
-            // 从Redis获取点赞数
-            String countKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + childComment.getId();
-            String likeKey = RedisConstants.COMMENT_LIKE_KEY + childComment.getId();
-            String count = stringRedisTemplate.opsForValue().get(countKey);
-            childVO.setLikeCount(count != null ? Integer.parseInt(count) : 0);
-            // 判断当前用户是否点赞
-            String userId = UserContext.getCurrentUser().getId();
-            Boolean isLiked = stringRedisTemplate.opsForSet().isMember(likeKey, userId);
-            childVO.setLike(Boolean.TRUE.equals(isLiked));
-            // 设置用户信息
-            UserDo user = userService.getUserById(childComment.getUserId());
-            if (user != null) {
-                childVO.setUsername(user.getName());
-                childVO.setUserImg(user.getAvatar());
+    public CursorPageBean<CommentsVO> getCommentsByTopicIdCursor(CommentsCursorQueryDTO queryDTO, Long topicId) {
+        int pageSize = queryDTO.getPageSize();
+
+        // 按 (created_at, id) 键集分页查询顶级评论，不执行COUNT查询
+        LambdaQueryWrapper<Comments> rootQuery = new LambdaQueryWrapper<>();
+        rootQuery.eq(Comments::getTopicId, topicId)
+                .eq(Comments::getStatus, 1)
+                .eq(Comments::getIsDeleted, 0);
+        applyCursor(rootQuery, CursorUtil.decode(queryDTO.getCursor()));
+        rootQuery.orderByDesc(Comments::getCreatedAt)
+                .orderByDesc(Comments::getId)
+                .last("LIMIT " + (pageSize + 1));
+        List<Comments> rootComments = list(rootQuery);
+        boolean hasMore = rootComments.size() > pageSize;
+        if (hasMore) {
+            rootComments = new ArrayList<>(rootComments.subList(0, pageSize));
+        }
+
+        CursorPageBean<CommentsVO> pageBean = new CursorPageBean<>();
+        pageBean.setItems(assembleRootComments(rootComments));
+        pageBean.setHasMore(hasMore);
+        if (hasMore) {
+            Comments last = rootComments.get(rootComments.size() - 1);
+            pageBean.setNextCursor(CursorUtil.encode(last.getCreatedAt(), last.getId()));
+        }
+        if (queryDTO.isWithTotal()) {
+            pageBean.setTotal(getApproximateCommentCount(topicId));
+        }
+        return pageBean;
+    }
+
+    @Override
+    public CursorPageBean<CommentsVO> getCommentReplies(Long parentId, String cursor) {
+        int pageSize = commentProperties.getReplyPageSize();
+        int maxDepth = commentProperties.getReplyMaxDepth();
+        int remaining = commentProperties.getReplyMaxNodes();
+
+        // 第一层：按游标分页获取直接回复
+        LambdaQueryWrapper<Comments> firstQuery = new LambdaQueryWrapper<>();
+        firstQuery.eq(Comments::getParentId, parentId)
+                .eq(Comments::getIsDeleted, 0);
+        applyCursor(firstQuery, CursorUtil.decode(cursor));
+        firstQuery.orderByDesc(Comments::getCreatedAt)
+                .orderByDesc(Comments::getId)
+                .last("LIMIT " + (pageSize + 1));
+        List<Comments> firstLevel = list(firstQuery);
+        boolean hasMore = firstLevel.size() > pageSize;
+        if (hasMore) {
+            firstLevel = new ArrayList<>(firstLevel.subList(0, pageSize));
+        }
+        remaining -= firstLevel.size();
+
+        // 逐层广度优先加载，每层一次 parent_id IN 查询
+        List<Comments> loaded = new ArrayList<>(firstLevel);
+        Set<Long> truncatedParents = new HashSet<>();
+        List<Long> frontier = firstLevel.stream().map(Comments::getId).toList();
+        int depth = 1;
+        while (!frontier.isEmpty()) {
+            if (depth >= maxDepth || remaining <= 0) {
+                truncatedParents.addAll(selectParentsWithReplies(frontier));
+                break;
             }
-            // 格式化时间
-            if (childComment.getCreatedAt() != null) {
-                childVO.setCreatedAt(TimeUtil.df.format(childComment.getCreatedAt()));
+            LambdaQueryWrapper<Comments> levelQuery = new LambdaQueryWrapper<>();
+            levelQuery.in(Comments::getParentId, frontier)
+                    .eq(Comments::getIsDeleted, 0)
+                    .orderByDesc(Comments::getCreatedAt)
+                    .orderByDesc(Comments::getId)
+                    .last("LIMIT " + (remaining + 1));
+            List<Comments> level = list(levelQuery);
+            if (level.size() > remaining) {
+                // 本层超出节点上限，整层留待客户端按需加载
+                truncatedParents.addAll(selectParentsWithReplies(frontier));
+                break;
             }
-            // 递归查询子评论
-            List<CommentsVO> children = getCommentReplies(childComment.getId());
-            childVO.setChildren(children);
-            result.add(childVO);
+            loaded.addAll(level);
+            remaining -= level.size();
+            frontier = level.stream().map(Comments::getId).toList();
+            depth++;
+        }
+
+        // 在内存中组装回复树
+        Map<Long, CommentsVO> voMap = toCommentsVOs(loaded).stream()
+                .collect(Collectors.toMap(CommentsVO::getId, Function.identity()));
+        List<CommentsVO> items = new ArrayList<>();
+        for (Comments comment : loaded) {
+            CommentsVO commentVO = voMap.get(comment.getId());
+            commentVO.setChildren(new ArrayList<>());
+            commentVO.setHasMoreReplies(truncatedParents.contains(comment.getId()));
+            if (comment.getParentId().equals(parentId)) {
+                items.add(commentVO);
+            } else {
+                voMap.get(comment.getParentId()).getChildren().add(commentVO);
             }
-        return result;
+        }
+
+        CursorPageBean<CommentsVO> pageBean = new CursorPageBean<>();
+        pageBean.setItems(items);
+        pageBean.setHasMore(hasMore);
+        if (hasMore) {
+            Comments last = firstLevel.get(firstLevel.size() - 1);
+            pageBean.setNextCursor(CursorUtil.encode(last.getCreatedAt(), last.getId()));
+        }
+        return pageBean;
     }
 
     @Override
     @Transactional
     public boolean toggleLikeComment(Long commentId, String userId) {
-        String likeKey = RedisConstants.COMMENT_LIKE_KEY + commentId;
-        String countKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + commentId;
-        
-        Boolean member = stringRedisTemplate.opsForSet().isMember(likeKey, userId);
-        if (Boolean.FALSE.equals(member)) {
-            // 添加点赞记录
-            stringRedisTemplate.opsForSet().add(likeKey, userId);
-            stringRedisTemplate.opsForValue().increment(countKey);
-            return true;
-        } else {
-            // 取消点赞
-            stringRedisTemplate.opsForSet().remove(likeKey, userId);
-            stringRedisTemplate.opsForValue().decrement(countKey);
-            return false;
-        }
+        return commentLikeService.toggleLike(commentId, userId);
     }
 
     @Override
@@ -231,38 +264,204 @@ public class CommentsServiceImpl extends ServiceImpl<CommentsMapper, Comments> i
             throw new BadRequestException("无权删除该评论");
         }
 
-        // 如果是父评论，删除所有子评论
-        if (comment.getStatus() == 1) {
-            LambdaQueryWrapper<Comments> childQuery = new LambdaQueryWrapper<>();
-            childQuery.eq(Comments::getParentId, commentId)
-                    .eq(Comments::getIsDeleted, 0);
-            List<Comments> childComments = list(childQuery);
-            // 批量软删除子评论
-            childComments.forEach(comments -> {
-                comments.setIsDeleted(1);
-                String likeKey = RedisConstants.COMMENT_LIKE_KEY + comments.getId();
-                String countKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + comments.getId();
-                // 删除用户的点赞记录
-                stringRedisTemplate.opsForSet().remove(likeKey, userId);
-                // 减少点赞计数
-                String count = stringRedisTemplate.opsForValue().get(countKey);
-                if (count != null && Integer.parseInt(count) > 0) {
-                    stringRedisTemplate.opsForValue().decrement(countKey);
-                }
-            });
-            updateBatchById(childComments);
+        // 按物化路径前缀查询整棵子树(包含自身)
+        LambdaQueryWrapper<Comments> subtreeQuery = new LambdaQueryWrapper<>();
+        subtreeQuery.select(Comments::getId)
+                .likeRight(Comments::getPath, pathOf(comment))
+                .eq(Comments::getIsDeleted, 0);
+        List<Long> subtreeIds = listObjs(subtreeQuery, o -> Long.valueOf(o.toString()));
+
+        // 一次范围更新软删除整棵子树
+        LambdaUpdateWrapper<Comments> deleteWrapper = new LambdaUpdateWrapper<>();
+        deleteWrapper.set(Comments::getIsDeleted, 1)
+                .likeRight(Comments::getPath, comment.getPath())
+                .eq(Comments::getIsDeleted, 0);
+        update(deleteWrapper);
+        if (comment.getStatus() == 1 && comment.getIsDeleted() == 0) {
+            adjustCommentCount(comment.getTopicId(), -1);
+        }
+
+        // 删除用户在子树上的点赞记录，点赞数由 SCARD 计算无需单独扣减
+        commentLikeService.removeLikes(userId, subtreeIds);
+    }
+
+    /**
+     * 评论的物化路径；回填遗漏(如父评论链断裂)的评论路径为空，沿父评论向上计算并写回，
+     * 祖先缺失时以最早存在的祖先为路径起点
+     */
+    private String pathOf(Comments comment) {
+        if (comment.getPath() != null) {
+            return comment.getPath();
+        }
+        Deque<Long> ids = new ArrayDeque<>();
+        ids.push(comment.getId());
+        String prefix = "/";
+        Long parentId = comment.getParentId();
+        // 每层至少占2个字符，限制向上查找的层数，避免父评论链成环时无法结束
+        while (parentId != null && parentId != 0 && ids.size() < MAX_PATH_LENGTH / 2) {
+            Comments parent = getById(parentId);
+            if (parent == null) {
+                break;
+            }
+            if (parent.getPath() != null) {
+                prefix = parent.getPath();
+                break;
+            }
+            ids.push(parent.getId());
+            parentId = parent.getParentId();
+        }
+        StringBuilder path = new StringBuilder(prefix);
+        ids.forEach(id -> path.append(id).append('/'));
+        comment.setPath(path.toString());
+        LambdaUpdateWrapper<Comments> updateWrapper = new LambdaUpdateWrapper<>();
+        updateWrapper.set(Comments::getPath, comment.getPath())
+                .eq(Comments::getId, comment.getId());
+        update(updateWrapper);
+        return comment.getPath();
+    }
+
+    /**
+     * 组装一页顶级评论：预览子评论、回复总数与点赞/作者信息均按整页批量获取
+     * @param rootComments 顶级评论列表
+     * @return 与入参顺序一致的评论VO列表
+     */
+    private List<CommentsVO> assembleRootComments(List<Comments> rootComments) {
+        if (rootComments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> rootIds = rootComments.stream().map(Comments::getId).toList();
+
+        // 一次查询获取所有顶级评论最新的若干条子评论
+        List<Comments> childComments = commentsMapper.selectLatestChildren(rootIds, commentProperties.getPreviewSize());
+        Map<Long, List<Comments>> childrenMap = childComments.stream().collect(Collectors.groupingBy(Comments::getParentId));
+        List<Comments> pageComments = new ArrayList<>(rootComments);
+        pageComments.addAll(childComments);
+
+        // 按物化路径一次统计顶级评论的回复总数
+        Map<Long, Integer> replyCounts = new HashMap<>();
+        for (Map<String, Object> row : commentsMapper.selectReplyCounts(rootIds)) {
+            replyCounts.put(((Number) row.get("rootId")).longValue(), ((Number) row.get("replyCount")).intValue());
+        }
+
+        // 顶级评论与子评论统一批量组装，避免逐条访问Redis和数据库
+        Map<Long, CommentsVO> voMap = toCommentsVOs(pageComments).stream()
+                .collect(Collectors.toMap(CommentsVO::getId, Function.identity()));
+
+        List<CommentsVO> result = new ArrayList<>();
+        for (Comments rootComment : rootComments) {
+            CommentsVO commentVO = voMap.get(rootComment.getId());
+            commentVO.setReplyCount(replyCounts.getOrDefault(rootComment.getId(), 0));
+            List<CommentsVO> children = new ArrayList<>();
+            for (Comments childComment : childrenMap.getOrDefault(rootComment.getId(), List.of())) {
+                CommentsVO childVO = voMap.get(childComment.getId());
+                childVO.setChildren(new ArrayList<>());
+                children.add(childVO);
+            }
+            commentVO.setChildren(children);
+            result.add(commentVO);
         }
-        // 软删除当前评论
-        comment.setIsDeleted(1);
-        String likeKey = RedisConstants.COMMENT_LIKE_KEY + commentId;
-        String countKey = RedisConstants.COMMENT_LIKE_COUNT_KEY + commentId;
-        // 删除用户的点赞记录
-        stringRedisTemplate.opsForSet().remove(likeKey, userId);
-        // 减少点赞计数
+        return result;
+    }
+
+    /**
+     * 读取话题顶级评论数的Redis计数器，计数器不存在时回源统计一次
+     */
+    private Long getApproximateCommentCount(Long topicId) {
+        String countKey = RedisConstants.TOPIC_COMMENT_COUNT_KEY + topicId;
         String count = stringRedisTemplate.opsForValue().get(countKey);
-        if (count != null && Integer.parseInt(count) > 0) {
-            stringRedisTemplate.opsForValue().decrement(countKey);
+        if (count != null) {
+            return Long.parseLong(count);
+        }
+        LambdaQueryWrapper<Comments> countQuery = new LambdaQueryWrapper<>();
+        countQuery.eq(Comments::getTopicId, topicId)
+                .eq(Comments::getStatus, 1)
+                .eq(Comments::getIsDeleted, 0);
+        long total = count(countQuery);
+        stringRedisTemplate.opsForValue().setIfAbsent(countKey, String.valueOf(total));
+        return total;
+    }
+
+    /**
+     * 调整话题顶级评论数计数器，计数器不存在时不创建，避免从0开始计数；
+     * 下次读取时从数据库统计回填，回填结果已包含本次变更
+     */
+    private void adjustCommentCount(Long topicId, int delta) {
+        stringRedisTemplate.execute(adjustExistingCounterScript,
+                List.of(RedisConstants.TOPIC_COMMENT_COUNT_KEY + topicId), String.valueOf(delta));
+    }
+
+    /**
+     * 追加键集分页条件：(created_at, id) 严格小于游标位置
+     */
+    private void applyCursor(LambdaQueryWrapper<Comments> wrapper, CursorUtil.Cursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+        wrapper.and(w -> w.lt(Comments::getCreatedAt, cursor.getCreatedAt())
+                .or(o -> o.eq(Comments::getCreatedAt, cursor.getCreatedAt())
+                        .lt(Comments::getId, cursor.getId())));
+    }
+
+    /**
+     * 查询给定评论中存在未删除回复的评论ID
+     */
+    private Set<Long> selectParentsWithReplies(List<Long> parentIds) {
+        LambdaQueryWrapper<Comments> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Comments::getParentId)
+                .in(Comments::getParentId, parentIds)
+                .eq(Comments::getIsDeleted, 0)
+                .groupBy(Comments::getParentId);
+        return new HashSet<>(listObjs(wrapper, o -> Long.valueOf(o.toString())));
+    }
+
+    /**
+     * 批量组装评论VO
+     * 点赞数与当前用户点赞状态按整页批量获取，一次SQL批量获取作者信息
+     * @param comments 评论列表
+     * @return 与入参顺序一致的评论VO列表
+     */
+    private List<CommentsVO> toCommentsVOs(List<Comments> comments) {
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
         }
-        updateById(comment);
+        String userId = UserContext.getCurrentUser().getId();
+
+        // 一次管道获取整页点赞数(SCARD)，一次管道获取当前用户点赞状态(逐条 SISMEMBER)，过期的点赞集合一次从数据库回填
+        List<Long> commentIds = comments.stream().map(Comments::getId).toList();
+        Map<Long, Integer> likeCounts = commentLikeService.countLikes(commentIds);
+        Set<Long> likedIds = commentLikeService.filterLiked(userId, commentIds);
+
+        // 批量查询评论作者
+        Set<String> authorIds = comments.stream()
+                .map(Comments::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> authors = authorIds.isEmpty() ? new HashMap<>() : userService.listByIds(authorIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<CommentsVO> result = new ArrayList<>(comments.size());
+        for (int i = 0; i < comments.size(); i++) {
+            Comments comment = comments.get(i);
+            CommentsVO commentVO = new CommentsVO();
+            BeanUtils.copyProperties(comment, commentVO);
+
+            // 点赞数与点赞状态
+            commentVO.setLikeCount(likeCounts.getOrDefault(comment.getId(), 0));
+            commentVO.setLike(likedIds.contains(comment.getId()));
+
+            // 设置用户信息
+            User author = authors.get(comment.getUserId());
+            if (author != null) {
+                commentVO.setUsername(author.getName());
+                commentVO.setUserImg(author.getAvatar());
+            }
+
+            // 格式化时间
+            if (comment.getCreatedAt() != null) {
+                commentVO.setCreatedAt(TimeUtil.df.format(comment.getCreatedAt()));
+            }
+            result.add(commentVO);
+        }
+        return result;
     }
 }
\ No newline at end of file
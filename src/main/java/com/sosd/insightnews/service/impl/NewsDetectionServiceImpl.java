@@ -9,6 +9,7 @@ import com.sosd.insightnews.dto.NewsDTO;
 import com.sosd.insightnews.dto.NewsDetectionReq;
 import com.sosd.insightnews.service.AIService;
 import com.sosd.insightnews.service.NewsDetectionService;
+import com.sosd.insightnews.service.NewsReactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -28,6 +29,8 @@ public class NewsDetectionServiceImpl extends ServiceImpl<NewsDetectionMapper, N
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
+    @Autowired
+    private NewsReactionService newsReactionService;
 
     @Override
     public NewsDTO uploadTextNews(String content, String userId) {
@@ -41,12 +44,12 @@ public class NewsDetectionServiceImpl extends ServiceImpl<NewsDetectionMapper, N
 
     @Override
     public void favoriteNews(Long newsId, String userId) {
-
+        newsReactionService.toggleFavorite(newsId, userId);
     }
 
     @Override
     public void dislikeNews(Long newsId, String userId) {
-
+        newsReactionService.toggleDislike(newsId, userId);
     }
 
     @Override
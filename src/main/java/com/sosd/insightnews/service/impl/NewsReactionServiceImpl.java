@@ -0,0 +1,213 @@
+package com.sosd.insightnews.service.impl;
+
+import com.sosd.insightnews.cache.ReactionSetWarmer;
+import com.sosd.insightnews.cache.UserIdDictionary;
+import com.sosd.insightnews.constant.ReactionConstants;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dto.NewsDTO;
+import com.sosd.insightnews.service.NewsReactionService;
+import com.sosd.insightnews.service.ReactionService;
+import com.sosd.insightnews.util.properties.ReactionProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 新闻点赞、点踩、收藏存储实现类
+ * 每条新闻每种互动一个用户 SET，成员为用户稠密编号，人数直接取 SCARD；
+ * 整个新闻列表的状态和人数通过一次流水线读取，过期的集合一次从数据库回填，调用次数与列表长度无关。
+ * 变更异步写入数据库，集合中的占位成员不计入人数
+ */
+@Service
+public class NewsReactionServiceImpl implements NewsReactionService {
+
+    private static final List<String> TYPES = List.of(
+            ReactionConstants.NEWS_LIKE, ReactionConstants.NEWS_DISLIKE, ReactionConstants.NEWS_FAVORITE);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private DefaultRedisScript<Long> toggleMemberScript;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private ReactionProperties reactionProperties;
+
+    @Autowired
+    private UserIdDictionary userIdDictionary;
+
+    @Autowired
+    private ReactionSetWarmer reactionSetWarmer;
+
+    @Override
+    public boolean toggleFavorite(Long newsId, String userId) {
+        return toggle(ReactionConstants.NEWS_FAVORITE, newsId, userId);
+    }
+
+    @Override
+    public boolean toggleDislike(Long newsId, String userId) {
+        boolean disliked = toggle(ReactionConstants.NEWS_DISLIKE, newsId, userId);
+        if (disliked) {
+            // 点赞与点踩互斥
+            warmSet(ReactionConstants.NEWS_LIKE, newsId);
+            String member = String.valueOf(userIdDictionary.idOf(userId));
+            Long removed = stringRedisTemplate.opsForSet().remove(key(ReactionConstants.NEWS_LIKE, newsId), member);
+            if (removed != null && removed > 0) {
+                reactionService.record(ReactionConstants.NEWS_LIKE, newsId, userId, false);
+            }
+        }
+        return disliked;
+    }
+
+    @Override
+    public void markReactions(List<NewsDTO> newsList, String userId) {
+        if (newsList.isEmpty()) {
+            return;
+        }
+        List<Long> newsIds = newsList.stream().map(NewsDTO::getId).distinct().toList();
+        // 只读查询不分配编号，没有编号的用户不在任何集合中，只需查询集合大小
+        Long denseId = userIdDictionary.findId(userId);
+        String member = denseId == null ? null : String.valueOf(denseId);
+        // 每条新闻的每种互动依次为集合大小、当前用户是否在集合中
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (Long newsId : newsIds) {
+                    for (String type : TYPES) {
+                        ops.opsForSet().size(key(type, newsId));
+                        if (member != null) {
+                            ops.opsForSet().isMember(key(type, newsId), member);
+                        }
+                    }
+                }
+                return null;
+            }
+        });
+
+        Map<String, Map<Long, Integer>> counts = new HashMap<>();
+        Map<String, Set<Long>> marked = new HashMap<>();
+        Map<String, List<Long>> missingIds = new HashMap<>();
+        for (String type : TYPES) {
+            counts.put(type, new HashMap<>());
+            marked.put(type, new HashSet<>());
+            missingIds.put(type, new ArrayList<>());
+        }
+        int index = 0;
+        for (Long newsId : newsIds) {
+            for (String type : TYPES) {
+                Object size = results.get(index++);
+                Object isMember = member == null ? null : results.get(index++);
+                if (size == null || ((Number) size).longValue() == 0) {
+                    missingIds.get(type).add(newsId);
+                    continue;
+                }
+                // 扣除占位成员
+                counts.get(type).put(newsId, ((Number) size).intValue() - 1);
+                if (Boolean.TRUE.equals(isMember)) {
+                    marked.get(type).add(newsId);
+                }
+            }
+        }
+
+        // 已过期的集合一次从数据库回填
+        Map<String, Map<Long, Set<String>>> loaded = new HashMap<>();
+        missingIds.forEach((type, ids) -> {
+            if (!ids.isEmpty()) {
+                loaded.put(type, reactionService.loadUsers(type, ids));
+            }
+        });
+        if (!loaded.isEmpty()) {
+            fillSets(loaded);
+            loaded.forEach((type, users) -> users.forEach((newsId, reactedUsers) -> {
+                counts.get(type).put(newsId, reactedUsers.size());
+                if (reactedUsers.contains(userId)) {
+                    marked.get(type).add(newsId);
+                }
+            }));
+        }
+
+        for (NewsDTO news : newsList) {
+            Long newsId = news.getId();
+            news.setLikeCount(counts.get(ReactionConstants.NEWS_LIKE).getOrDefault(newsId, 0));
+            news.setFavoriteCount(counts.get(ReactionConstants.NEWS_FAVORITE).getOrDefault(newsId, 0));
+            news.setCollect(marked.get(ReactionConstants.NEWS_FAVORITE).contains(newsId));
+            if (marked.get(ReactionConstants.NEWS_DISLIKE).contains(newsId)) {
+                news.setIsDislike(2);
+            } else if (marked.get(ReactionConstants.NEWS_LIKE).contains(newsId)) {
+                news.setIsDislike(1);
+            } else {
+                news.setIsDislike(0);
+            }
+        }
+    }
+
+    private boolean toggle(String type, Long newsId, String userId) {
+        warmSet(type, newsId);
+        String key = key(type, newsId);
+        String member = String.valueOf(userIdDictionary.idOf(userId));
+        Long added = stringRedisTemplate.execute(toggleMemberScript, List.of(key), member);
+        boolean active = Long.valueOf(1).equals(added);
+        reactionService.record(type, newsId, userId, active);
+        stringRedisTemplate.expire(key, ttl());
+        return active;
+    }
+
+    /**
+     * 单条新闻的互动集合不存在时从数据库回填
+     */
+    private void warmSet(String type, Long newsId) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(type, newsId)))) {
+            return;
+        }
+        fillSets(Map.of(type, reactionService.loadUsers(type, List.of(newsId))));
+    }
+
+    /**
+     * 将从数据库读取的互动用户写回不存在的 Redis 集合，附加占位成员并设置过期时间
+     * @param loaded 互动类型 -> 新闻ID -> 用户ID集合
+     */
+    private void fillSets(Map<String, Map<Long, Set<String>>> loaded) {
+        Set<String> userIds = new HashSet<>();
+        loaded.values().forEach(users -> users.values().forEach(userIds::addAll));
+        Map<String, Long> denseIds = userIdDictionary.idsOf(userIds);
+        Map<String, List<String>> sets = new HashMap<>();
+        loaded.forEach((type, users) -> users.forEach((newsId, reactedUsers) -> {
+            List<String> members = new ArrayList<>(reactedUsers.size() + 1);
+            reactedUsers.forEach(user -> members.add(String.valueOf(denseIds.get(user))));
+            members.add(ReactionConstants.LOADED_MARKER_ID);
+            sets.put(key(type, newsId), members);
+        }));
+        reactionSetWarmer.warmSets(sets, ttl());
+    }
+
+    private String key(String type, Long newsId) {
+        switch (type) {
+            case ReactionConstants.NEWS_LIKE:
+                return RedisConstants.NEWS_LIKE_KEY + newsId;
+            case ReactionConstants.NEWS_DISLIKE:
+                return RedisConstants.NEWS_DISLIKE_KEY + newsId;
+            default:
+                return RedisConstants.NEWS_FAVORITE_KEY + newsId;
+        }
+    }
+
+    private Duration ttl() {
+        return Duration.ofHours(reactionProperties.getRedisTtlHours());
+    }
+}
@@ -0,0 +1,195 @@
+package com.sosd.insightnews.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.google.common.collect.Lists;
+import com.sosd.insightnews.dao.entity.Reaction;
+import com.sosd.insightnews.dao.mapper.ReactionMapper;
+import com.sosd.insightnews.service.ReactionService;
+import com.sosd.insightnews.util.properties.ReactionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 用户互动持久化服务实现类
+ * 同一 (类型, 对象, 用户) 的多次变更在本地只保留最后状态，定时以批量 upsert 写入数据库；
+ * 回填查询不等待写入，而是在数据库结果上叠加本节点缓冲中的变更，
+ * 其他节点尚未写入的变更要等其下一轮写入后才可见
+ */
+@Service
+@Slf4j
+public class ReactionServiceImpl implements ReactionService {
+
+    @Autowired
+    private ReactionMapper reactionMapper;
+
+    @Autowired
+    private ReactionProperties reactionProperties;
+
+    // (类型:对象:用户) -> 最新状态
+    private final Map<String, Reaction> pendingReactions = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Override
+    public void record(String type, Long targetId, String userId, boolean active) {
+        record(type, targetId, userId, active, System.currentTimeMillis());
+    }
+
+    @Override
+    public void record(String type, Long targetId, String userId, boolean active, long timeMillis) {
+        Reaction reaction = new Reaction();
+        reaction.setTargetType(type);
+        reaction.setTargetId(targetId);
+        reaction.setUserId(userId);
+        reaction.setActive(active ? 1 : 0);
+        reaction.setUpdatedAt(new Date(timeMillis));
+        pendingReactions.put(type + ":" + targetId + ":" + userId, reaction);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reaction.flush-interval-millis:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pendingReactions.isEmpty()) {
+                return;
+            }
+            Map<String, Reaction> snapshot = new HashMap<>(pendingReactions);
+            for (List<Reaction> batch : Lists.partition(new ArrayList<>(snapshot.values()), reactionProperties.getFlushBatchSize())) {
+                reactionMapper.upsertBatch(batch);
+            }
+            // 只移除已写入的状态，写入期间产生的新变更留到下一轮
+            snapshot.forEach(pendingReactions::remove);
+        } catch (Exception e) {
+            log.error("互动变更写入数据库失败，待写入数量：{}", pendingReactions.size(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public Map<Long, Set<String>> loadUsers(String type, List<Long> targetIds) {
+        Map<Long, Set<String>> users = new HashMap<>();
+        if (targetIds.isEmpty()) {
+            return users;
+        }
+        Set<Long> targets = new HashSet<>(targetIds);
+        // 先取缓冲快照再查询，查询期间被写入数据库的变更仍在快照中，不会遗漏
+        List<Reaction> pending = pending(type, reaction -> targets.contains(reaction.getTargetId()));
+        targetIds.forEach(targetId -> users.put(targetId, new HashSet<>()));
+        LambdaQueryWrapper<Reaction> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(Reaction::getTargetId, Reaction::getUserId)
+                .eq(Reaction::getTargetType, type)
+                .in(Reaction::getTargetId, targetIds)
+                .eq(Reaction::getActive, 1);
+        for (Reaction reaction : reactionMapper.selectList(queryWrapper)) {
+            users.get(reaction.getTargetId()).add(reaction.getUserId());
+        }
+        for (Reaction reaction : pending) {
+            if (reaction.getActive() == 1) {
+                users.get(reaction.getTargetId()).add(reaction.getUserId());
+            } else {
+                users.get(reaction.getTargetId()).remove(reaction.getUserId());
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public Map<Long, Integer> countUsers(String type, List<Long> targetIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (targetIds.isEmpty()) {
+            return counts;
+        }
+        Set<Long> targets = new HashSet<>(targetIds);
+        List<Reaction> pending = pending(type, reaction -> targets.contains(reaction.getTargetId()));
+        targetIds.forEach(targetId -> counts.put(targetId, 0));
+        QueryWrapper<Reaction> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("target_id AS targetId", "COUNT(*) AS total")
+                .eq("target_type", type)
+                .in("target_id", targetIds)
+                .eq("active", 1)
+                .groupBy("target_id");
+        for (Map<String, Object> row : reactionMapper.selectMaps(queryWrapper)) {
+            counts.put(((Number) row.get("targetId")).longValue(), ((Number) row.get("total")).intValue());
+        }
+        if (pending.isEmpty()) {
+            return counts;
+        }
+        // 缓冲中的变更只有与数据库中的状态不同时才改变计数
+        LambdaQueryWrapper<Reaction> activeWrapper = new LambdaQueryWrapper<>();
+        activeWrapper.select(Reaction::getTargetId, Reaction::getUserId)
+                .eq(Reaction::getTargetType, type)
+                .in(Reaction::getTargetId, pending.stream().map(Reaction::getTargetId).collect(Collectors.toSet()))
+                .in(Reaction::getUserId, pending.stream().map(Reaction::getUserId).collect(Collectors.toSet()))
+                .eq(Reaction::getActive, 1);
+        Set<String> active = new HashSet<>();
+        for (Reaction reaction : reactionMapper.selectList(activeWrapper)) {
+            active.add(reaction.getTargetId() + ":" + reaction.getUserId());
+        }
+        for (Reaction reaction : pending) {
+            boolean wasActive = active.contains(reaction.getTargetId() + ":" + reaction.getUserId());
+            if (reaction.getActive() == 1 && !wasActive) {
+                counts.merge(reaction.getTargetId(), 1, Integer::sum);
+            } else if (reaction.getActive() == 0 && wasActive) {
+                counts.merge(reaction.getTargetId(), -1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Long, Long> loadTargets(String type, String userId) {
+        List<Reaction> pending = pending(type, reaction -> userId.equals(reaction.getUserId()));
+        LambdaQueryWrapper<Reaction> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(Reaction::getTargetId, Reaction::getUpdatedAt)
+                .eq(Reaction::getTargetType, type)
+                .eq(Reaction::getUserId, userId)
+                .eq(Reaction::getActive, 1);
+        Map<Long, Long> targets = new HashMap<>();
+        for (Reaction reaction : reactionMapper.selectList(queryWrapper)) {
+            targets.put(reaction.getTargetId(), reaction.getUpdatedAt().getTime());
+        }
+        for (Reaction reaction : pending) {
+            if (reaction.getActive() == 1) {
+                targets.put(reaction.getTargetId(), reaction.getUpdatedAt().getTime());
+            } else {
+                targets.remove(reaction.getTargetId());
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * 本节点缓冲中尚未写入数据库的指定类型变更
+     */
+    private List<Reaction> pending(String type, Predicate<Reaction> filter) {
+        List<Reaction> reactions = new ArrayList<>();
+        for (Reaction reaction : pendingReactions.values()) {
+            if (type.equals(reaction.getTargetType()) && filter.test(reaction)) {
+                reactions.add(reaction);
+            }
+        }
+        return reactions;
+    }
+}
@@ -3,6 +3,7 @@ package com.sosd.insightnews.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.sosd.insightnews.auth.role.RoleType;
+import com.sosd.insightnews.cache.UserCache;
 import com.sosd.insightnews.converter.PermissionConverter;
 import com.sosd.insightnews.converter.RoleConverter;
 import com.sosd.insightnews.dao.entity.Permission;
@@ -35,6 +36,8 @@ public class RoleServiceImpl implements RoleService {
     private RolePermissionMapper rolePermissionMapper;
     @Autowired
     private PermissionMapper permissionMapper;
+    @Autowired
+    private UserCache userCache;
 
     /**
      * Save role and permissions
@@ -62,6 +65,7 @@ public class RoleServiceImpl implements RoleService {
         userRole.setUserid(userId);
         userRole.setRoleid(roleId);
         userRoleMapper.insert(userRole);
+        userCache.invalidate(userId);
     }
 
     @Override
@@ -70,6 +74,7 @@ public class RoleServiceImpl implements RoleService {
         userRole.setRoleid(RoleType.USER);
         userRole.setUserid(userId);
         userRoleMapper.insert(userRole);
+        userCache.invalidate(userId);
     }
 
     @Override
@@ -109,6 +114,8 @@ public class RoleServiceImpl implements RoleService {
         UserRole userRole = userRoleMapper.selectOne(wrapper);
         userRole.setUserid(afterUserId);
         userRoleMapper.updateById(userRole);
+        userCache.invalidate(beforeUserId);
+        userCache.invalidate(afterUserId);
     }
 
     @Override
@@ -117,7 +124,9 @@ public class RoleServiceImpl implements RoleService {
         // 解绑 user 和 role 的关系，不需要删除role 和 permission
         LambdaQueryWrapper<UserRole> userRoleWrapper = new LambdaQueryWrapper<>();
         userRoleWrapper.eq(UserRole::getRoleid, roleId);
+        List<UserRole> userRoles = userRoleMapper.selectList(userRoleWrapper);
         userRoleMapper.delete(userRoleWrapper);
+        userRoles.forEach(userRole -> userCache.invalidate(userRole.getUserid()));
     }
 
     @Override
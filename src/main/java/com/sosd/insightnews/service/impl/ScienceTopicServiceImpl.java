@@ -2,6 +2,8 @@ package com.sosd.insightnews.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.sosd.insightnews.cache.SearchResultCache;
+import com.sosd.insightnews.cache.TopicCache;
 import com.sosd.insightnews.constant.RedisConstants;
 import com.sosd.insightnews.context.UserContext;
 import com.sosd.insightnews.dao.entity.NewsDetection;
@@ -9,25 +11,33 @@ import com.sosd.insightnews.dao.entity.NewsTopicAssociation;
 import com.sosd.insightnews.dao.entity.ScienceTopic;
 import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
 import com.sosd.insightnews.dto.*;
+import com.sosd.insightnews.event.TopicChangedEvent;
 import com.sosd.insightnews.exception.http.BadRequestException;
+import com.sosd.insightnews.search.TopicSearchIndex;
+import com.sosd.insightnews.search.TopicSuggester;
 import com.sosd.insightnews.service.*;
 import com.sosd.insightnews.util.NewsPriorityUtil;
 import com.sosd.insightnews.util.TimeUtil;
+import com.sosd.insightnews.util.properties.TopicProperties;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.sosd.insightnews.constant.RedisConstants.MAX_SEARCH_HISTORY;
@@ -39,6 +49,8 @@ import static com.sosd.insightnews.constant.RedisConstants.MAX_SEARCH_HISTORY;
 @Slf4j
 public class ScienceTopicServiceImpl extends ServiceImpl<ScienceTopicMapper, ScienceTopic> implements ScienceTopicService {
 
+    private static final int SEARCH_HISTORY_MAX_KEYWORD_BYTES = 62;
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
@@ -49,18 +61,71 @@ public class ScienceTopicServiceImpl extends ServiceImpl<ScienceTopicMapper, Sci
     private NewsDetectionService newsDetectionService;
 
     @Autowired
-    private ScienceTopicMapper scienceTopicMapper;
+    private TopicRankService topicRankService;
+
+    @Autowired
+    private TopicCache topicCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TopicSearchIndex topicSearchIndex;
+
+    @Autowired
+    private TopicSuggester topicSuggester;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private DefaultRedisScript<Long> searchHistoryScript;
+
+    @Autowired
+    private TopicFavoriteService topicFavoriteService;
+
+    @Autowired
+    private NewsReactionService newsReactionService;
+
+    @Autowired
+    private TopicProperties topicProperties;
+
+    @Override
+    public boolean save(ScienceTopic entity) {
+        boolean saved = super.save(entity);
+        if (saved) {
+            eventPublisher.publishEvent(new TopicChangedEvent(this, entity.getId()));
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(ScienceTopic entity) {
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            eventPublisher.publishEvent(new TopicChangedEvent(this, entity.getId()));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new TopicChangedEvent(this, Long.valueOf(id.toString())));
+        }
+        return removed;
+    }
 
     @Override
     @Transactional
     public TopicDetailDTO getTopicById(Long topicId) {
-        ScienceTopic topic = getById(topicId);
+        ScienceTopic topic = topicCache.get(topicId);
         if (topic == null) {
             return null;
         }
         // 增加浏览次数
-        Double score = redisTemplate.opsForZSet().incrementScore(RedisConstants.TOPIC_VIEW_COUNT_KEY, String.valueOf(topicId), 1);
-        log.info("话题{}浏览次数增加成功，当前浏览次数：{}", topicId, score);
+        topicRankService.recordView(topic);
         TopicDetailDTO detailDTO = new TopicDetailDTO();
         BeanUtils.copyProperties(topic, detailDTO);
         // 查询关联新闻列表
@@ -74,104 +139,73 @@ public class ScienceTopicServiceImpl extends ServiceImpl<ScienceTopicMapper, Sci
             // 批量查询新闻详情
             List<NewsDetection> newsList = newsDetectionService.listByIds(newsIds);
             List<NewsDTO> newsDetailList = newsList.stream().map(this::NewsDetectionToNewsDTO).collect(Collectors.toList());
+            // 批量填充点踩、收藏状态和人数
+            newsReactionService.markReactions(newsDetailList, UserContext.getCurrentUser().getId());
             // 使用优先级排序
             List<NewsDTO> sortedNewsList = NewsPriorityUtil.prioritizeNews(newsDetailList);
             detailDTO.setNews(sortedNewsList);
         }
 
-        // 从Redis获取关注人数
-        String countKey = RedisConstants.TOPIC_FAVORITE_COUNT_KEY + topicId;
-        Integer attentionNum = (Integer) redisTemplate.opsForValue().get(countKey);
+        // 获取关注人数
+        Integer attentionNum = topicFavoriteService.countFavorites(List.of(topicId)).get(topicId);
         if (attentionNum != null && attentionNum > 0) {
             detailDTO.setAttentionNum(attentionNum);
         }
 
         // 检查当前用户是否收藏该话题
         String userId = UserContext.getCurrentUser().getId();
-        String favoriteKey = RedisConstants.USER_FAVORITE_TOPICS_KEY + userId;
-        Double favoriteScore = redisTemplate.opsForZSet().score(favoriteKey, topicId.toString());
-        detailDTO.setFavorited(favoriteScore != null);
+        detailDTO.setFavorited(topicFavoriteService.isFavorited(topicId, userId));
         return detailDTO;
     }
 
     @Override
-    public List<TopicDTO> getHotTopics(String category) {
-        // 从数据库中获取指定类别的话题
-        LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
-        if (category != null && !category.isEmpty()) {
-            queryWrapper.eq(ScienceTopic::getCategory, category);
-        }
-        List<ScienceTopic> allTopics = list(queryWrapper);
-        log.info("从数据库中获取话题成功，话题数量：{}", allTopics.size());
-        
-        if (allTopics.isEmpty()) {
+    public List<TopicDTO> getHotTopics(String category, int page, int pageSize) {
+        // 只从榜单中读取请求的一页话题ID
+        List<Long> topicIds = topicRankService.getHotTopicIds(category, page, pageSize);
+        if (topicIds.isEmpty()) {
             return new ArrayList<>();
         }
-        
-        // 从Redis获取所有话题的浏览次数记录，按照浏览次数降序排序
-        Set<ZSetOperations.TypedTuple<Object>> typedTuples = redisTemplate.opsForZSet().reverseRangeWithScores(RedisConstants.TOPIC_VIEW_COUNT_KEY, 0, -1);
-        log.info("获取所有话题的浏览次数记录成功，记录数：{}", typedTuples.size());
-        
-        // 如果Redis中有数据，将热门话题排在前面
-        if (!typedTuples.isEmpty()) {
-            // 获取Redis中的话题ID及其分数
-            Map<Long, Double> topicScores = typedTuples.stream()
-                    .collect(Collectors.toMap(
-                            tuple -> Long.parseLong(Objects.requireNonNull(tuple.getValue()).toString()),
-                            ZSetOperations.TypedTuple::getScore,
-                            (a, b) -> b
-                    ));
-            
-            // 将话题列表分为两部分：Redis中的热门话题和其他话题
-            List<ScienceTopic> hotTopics = new ArrayList<>();
-            List<ScienceTopic> normalTopics = new ArrayList<>();
-            
-            for (ScienceTopic topic : allTopics) {
-                if (topicScores.containsKey(topic.getId())) {
-                    hotTopics.add(topic);
-                } else {
-                    normalTopics.add(topic);
-                }
-            }
-            
-            // 对热门话题按照Redis中的score降序排序
-            hotTopics.sort((a, b) -> Double.compare(
-                    topicScores.getOrDefault(b.getId(), 0.0),
-                    topicScores.getOrDefault(a.getId(), 0.0)
-            ));
-            
-            // 合并热门话题和普通话题
-            hotTopics.addAll(normalTopics);
-            return hotTopics.stream().map(this::convertToDTO).collect(Collectors.toList());
+        // 按榜单顺序批量获取话题详情
+        List<ScienceTopic> topics = topicCache.getAll(topicIds);
+        return convertToDTOs(topics);
+    }
+
+    @Override
+    public List<TopicDTO> getTrendingTopics(int page, int pageSize) {
+        List<Long> topicIds = topicRankService.getTrendingTopicIds(page, pageSize);
+        if (topicIds.isEmpty()) {
+            return new ArrayList<>();
         }
-        
-        // 如果Redis中没有数据，直接返回所有话题
-        return allTopics.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<ScienceTopic> topics = topicCache.getAll(topicIds);
+        return convertToDTOs(topics);
     }
 
     @Override
     public List<TopicDTO> searchTopics(String keyword, String userId) {
-        if (keyword == null || keyword.isEmpty()) {
+        if (keyword == null || keyword.isBlank()) {
             log.error("搜索关键词为空");
             throw new BadRequestException("搜索关键词为空");
         }
         // 保存搜索历史
         saveSearchHistory(userId, keyword);
-        // 搜索话题
-        LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.like(ScienceTopic::getTitle, keyword)
-                .or()
-                .like(ScienceTopic::getDescription, keyword);
-        List<ScienceTopic> topics = list(queryWrapper);
+        // 搜索话题，结果ID按规范化后的关键词缓存，查询使用同一规范化结果
+        List<Long> topicIds = searchResultCache.get(keyword, this::searchTopicIds);
+        List<ScienceTopic> topics = topicCache.getAll(topicIds);
         if (topics.isEmpty()) {
             log.error("搜索结果为空");
             return new ArrayList<>();
         }
-        // 更新热门搜索
-        for (ScienceTopic topic : topics) {
-            redisTemplate.opsForZSet().incrementScore(RedisConstants.HOT_SEARCH_TOPIC_KEY, topic.getTitle(), 1);
+        // 更新热门搜索，增量异步合并写入
+        topicRankService.recordSearchHits(topics);
+        return convertToDTOs(topics);
+    }
+
+    @Override
+    public List<String> suggestTopics(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit < 1) {
+            return new ArrayList<>();
         }
-        return topics.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return topicSuggester.suggest(prefix, limit);
     }
 
     @Override
@@ -203,94 +237,96 @@ public class ScienceTopicServiceImpl extends ServiceImpl<ScienceTopicMapper, Sci
     }
 
     @Override
-    @Transactional
     public boolean toggleFavoriteTopic(Long topicId, String userId) {
-        String favoriteKey = RedisConstants.USER_FAVORITE_TOPICS_KEY + userId;
-        String countKey = RedisConstants.TOPIC_FAVORITE_COUNT_KEY + topicId;
-        
-        Double score = redisTemplate.opsForZSet().score(favoriteKey, topicId.toString());
-        if (score == null) {
-            // 添加收藏记录，使用当前时间戳作为score
-            redisTemplate.opsForZSet().add(favoriteKey, topicId.toString(), System.currentTimeMillis());
-            redisTemplate.opsForValue().increment(countKey);
-            return true;
-        } else {
-            // 取消收藏
-            redisTemplate.opsForZSet().remove(favoriteKey, topicId.toString());
-            redisTemplate.opsForValue().decrement(countKey);
-            return false;
-        }
+        return topicFavoriteService.toggleFavorite(topicId, userId);
     }
 
     @Override
     public List<TopicDTO> getFavoriteTopics(String userId) {
-        // 从Redis获取用户收藏的话题ID列表，按收藏时间倒序排序
-        String favoriteKey = RedisConstants.USER_FAVORITE_TOPICS_KEY + userId;
-        Set<Object> members = redisTemplate.opsForZSet().reverseRange(favoriteKey, 0, -1);
-        if (members == null || members.isEmpty()) {
+        // 用户收藏的话题ID列表，按收藏时间倒序排序
+        List<Long> topicIds = topicFavoriteService.getFavoriteTopicIds(userId);
+        if (topicIds.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<Long> topicIds = members.stream()
-                .map(o -> Long.parseLong(o.toString()))
-                .toList();
-
         // 查询话题详情
-        List<ScienceTopic> topics = scienceTopicMapper.selectBatchTopics(topicIds);
-        return topics.stream().map(this::convertToDTO).collect(Collectors.toList());
+        List<ScienceTopic> topics = topicCache.getAll(topicIds);
+        return convertToDTOs(topics);
     }
 
+    /**
+     * 查询匹配关键词的话题ID，索引未就绪时回退到数据库模糊查询
+     */
+    private List<Long> searchTopicIds(String keyword) {
+        if (topicSearchIndex.isReady()) {
+            return topicSearchIndex.search(keyword, topicProperties.getSearchMaxResults());
+        }
+        LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(ScienceTopic::getId)
+                .like(ScienceTopic::getTitle, keyword)
+                .or()
+                .like(ScienceTopic::getDescription, keyword)
+                .last("LIMIT " + topicProperties.getSearchMaxResults());
+        return list(queryWrapper).stream().map(ScienceTopic::getId).toList();
+    }
+
+    /**
+     * 通过脚本一次完成添加、裁剪和刷新过期时间
+     */
     private void saveSearchHistory(String userId, String keyword) {
         String key = RedisConstants.USER_SEARCH_HISTORY_KEY + userId;
-        // 使用当前时间戳作为分数，实现按时间排序
-        redisTemplate.opsForZSet().add(key, keyword, System.currentTimeMillis());
-        // 保持历史记录不超过最大限制
-        redisTemplate.opsForZSet().removeRange(key, 0, -(MAX_SEARCH_HISTORY + 1));
+        String member = topicProperties.isSearchHistoryCompact() ? truncateKeyword(keyword) : keyword;
+        long ttlSeconds = TimeUnit.DAYS.toSeconds(topicProperties.getSearchHistoryTtlDays());
+        redisTemplate.execute(searchHistoryScript, List.of(key),
+                member, System.currentTimeMillis(), MAX_SEARCH_HISTORY, ttlSeconds);
     }
 
-    private TopicDTO convertToDTO(ScienceTopic topic) {
-        TopicDTO dto = new TopicDTO();
-        BeanUtils.copyProperties(topic, dto);
-        // 从Redis获取关注人数
-        String countKey = RedisConstants.TOPIC_FAVORITE_COUNT_KEY + topic.getId();
-        Integer attentionNum = (Integer) redisTemplate.opsForValue().get(countKey);
-        if (attentionNum != null && attentionNum > 0) {
-            dto.setAttentionNum(attentionNum);
+    /**
+     * 按UTF-8字节数截断关键词，超过 zset-max-listpack-value(默认64字节，含序列化引号)的成员会使整个 ZSET 转为跳表编码
+     */
+    private String truncateKeyword(String keyword) {
+        if (keyword.getBytes(StandardCharsets.UTF_8).length <= SEARCH_HISTORY_MAX_KEYWORD_BYTES) {
+            return keyword;
+        }
+        int bytes = 0;
+        int end = 0;
+        while (end < keyword.length()) {
+            int codePoint = keyword.codePointAt(end);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes + size > SEARCH_HISTORY_MAX_KEYWORD_BYTES) {
+                break;
+            }
+            bytes += size;
+            end += Character.charCount(codePoint);
         }
-        return dto;
+        return keyword.substring(0, end);
+    }
+
+    /**
+     * 批量转换话题列表，关注人数通过一次 MGET 批量获取
+     */
+    private List<TopicDTO> convertToDTOs(List<ScienceTopic> topics) {
+        if (topics.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> counts = topicFavoriteService.countFavorites(topics.stream().map(ScienceTopic::getId).toList());
+        List<TopicDTO> dtos = new ArrayList<>(topics.size());
+        for (int i = 0; i < topics.size(); i++) {
+            TopicDTO dto = new TopicDTO();
+            BeanUtils.copyProperties(topics.get(i), dto);
+            Integer count = counts.get(topics.get(i).getId());
+            if (count != null && count > 0) {
+                dto.setAttentionNum(count);
+            }
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     private NewsDTO NewsDetectionToNewsDTO(NewsDetection newsDetection){
         NewsDTO newsDTO = new NewsDTO();
         BeanUtils.copyProperties(newsDetection, newsDTO);
         newsDTO.setCreationTime(TimeUtil.df.format(newsDetection.getCreationTime()));
-        String userId = UserContext.getCurrentUser().getId();
-        // 查询是否点踩和收藏
-//        LambdaQueryWrapper<FavoriteDislike> favoriteDislikeQueryWrapper = new LambdaQueryWrapper<>();
-//        favoriteDislikeQueryWrapper.eq(FavoriteDislike::getOperatorId, userId);
-//        favoriteDislikeQueryWrapper.eq(FavoriteDislike::getTargetId, newsDetection.getId());
-//        favoriteDislikeQueryWrapper.eq(FavoriteDislike::getTargetType, "news");
-//        List<FavoriteDislike> favoriteDislikeList = favoriteDislikeService.list(favoriteDislikeQueryWrapper);
-//        if (favoriteDislikeList.isEmpty()) {
-//            newsDTO.setIsDislike(0);
-//            newsDTO.setIsCollect(0);
-//            return newsDTO;
-//        }
-//        for (FavoriteDislike favoriteDislike : favoriteDislikeList) {
-//            switch (favoriteDislike.getOperationType()) {
-//                case "like":
-//                    newsDTO.setIsDislike(1);
-//                    break;
-//                case "dislike":
-//                    newsDTO.setIsDislike(2);
-//                    break;
-//                case "favorite":
-//                    newsDTO.setIsCollect(1);
-//                    break;
-//                default:
-//                    break;
-//            }
-//        }
         return newsDTO;
     }
 }
\ No newline at end of file
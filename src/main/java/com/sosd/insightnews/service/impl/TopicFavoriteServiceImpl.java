@@ -0,0 +1,269 @@
+package com.sosd.insightnews.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.constant.ReactionConstants;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.User;
+import com.sosd.insightnews.dao.mapper.UserMapper;
+import com.sosd.insightnews.service.ReactionService;
+import com.sosd.insightnews.service.TopicFavoriteService;
+import com.sosd.insightnews.util.properties.ReactionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 话题收藏存储实现类
+ * 每个用户一个收藏 ZSET(分数为收藏时间)，每个话题一个关注人数计数；
+ * 变更异步写入数据库，Redis 数据设置过期时间，过期后访问时从数据库回填
+ */
+@Service
+@Slf4j
+public class TopicFavoriteServiceImpl implements TopicFavoriteService {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private ReactionProperties reactionProperties;
+
+    @Autowired
+    private DefaultRedisScript<Long> toggleMemberScript;
+
+    @Autowired
+    private DefaultRedisScript<Long> adjustExistingCounterScript;
+
+    @Autowired
+    private DefaultRedisScript<Long> warmMembersScript;
+
+    @Override
+    public boolean toggleFavorite(Long topicId, String userId) {
+        String favoriteKey = favoriteKey(userId);
+        String countKey = countKey(topicId);
+        // 先回填收藏集合和计数，避免在过期的键上切换
+        warmFavorites(userId);
+        countFavorites(List.of(topicId));
+
+        // 脚本原子地切换收藏状态(使用当前时间戳作为score)，只有真正发生状态变化的请求才调整关注人数；
+        // 计数在回填后过期时不重新创建，下次读取时从数据库重建
+        long now = System.currentTimeMillis();
+        Long added = redisTemplate.execute(toggleMemberScript, List.of(favoriteKey), topicId.toString(), now);
+        boolean favorited = Long.valueOf(1).equals(added);
+        redisTemplate.execute(adjustExistingCounterScript, List.of(countKey), favorited ? 1 : -1);
+        reactionService.record(ReactionConstants.TOPIC_FAVORITE, topicId, userId, favorited, now);
+        redisTemplate.expire(favoriteKey, ttl());
+        redisTemplate.expire(countKey, ttl());
+        return favorited;
+    }
+
+    @Override
+    public boolean isFavorited(Long topicId, String userId) {
+        warmFavorites(userId);
+        return redisTemplate.opsForZSet().score(favoriteKey(userId), topicId.toString()) != null;
+    }
+
+    @Override
+    public List<Long> getFavoriteTopicIds(String userId) {
+        warmFavorites(userId);
+        Set<Object> members = redisTemplate.opsForZSet().reverseRange(favoriteKey(userId), 0, -1);
+        if (members == null) {
+            return new ArrayList<>();
+        }
+        return members.stream()
+                .map(Object::toString)
+                .filter(member -> !ReactionConstants.LOADED_MARKER.equals(member))
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    @Override
+    public Map<Long, Integer> countFavorites(List<Long> topicIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (topicIds.isEmpty()) {
+            return counts;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(topicIds.stream().map(this::countKey).toList());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < topicIds.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            if (value instanceof Number) {
+                counts.put(topicIds.get(i), Math.max(((Number) value).intValue(), 0));
+            } else {
+                missingIds.add(topicIds.get(i));
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return counts;
+        }
+
+        // 已过期的计数一次从数据库回填，只在键不存在时写入，避免覆盖并发的增减
+        Map<Long, Integer> loaded = reactionService.countUsers(ReactionConstants.TOPIC_FAVORITE, missingIds);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                loaded.forEach((topicId, count) -> ops.opsForValue().setIfAbsent(countKey(topicId), count, ttl()));
+                return null;
+            }
+        });
+        counts.putAll(loaded);
+        return counts;
+    }
+
+    /**
+     * 用户收藏集合不存在时从数据库回填，集合中加入分数为0的占位成员；
+     * 由脚本在集合仍不存在时才写入，避免覆盖并发回填后发生的切换
+     */
+    private void warmFavorites(String userId) {
+        String key = favoriteKey(userId);
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+            return;
+        }
+        Map<Long, Long> favorites = reactionService.loadTargets(ReactionConstants.TOPIC_FAVORITE, userId);
+        List<Object> args = new ArrayList<>(favorites.size() * 2 + 4);
+        args.add(ttl().getSeconds());
+        args.add(2);
+        favorites.forEach((topicId, time) -> {
+            args.add(time);
+            args.add(topicId.toString());
+        });
+        args.add(0);
+        args.add(ReactionConstants.LOADED_MARKER);
+        redisTemplate.execute(warmMembersScript, List.of(key), args.toArray());
+    }
+
+    /**
+     * 一次性迁移：将已有的用户收藏 ZSET 写入数据库，补充占位成员和过期时间；
+     * 只有取得迁移锁的节点执行迁移，每批迁移后写入数据库
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillFavorites() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(RedisConstants.TOPIC_FAVORITE_MIGRATED_KEY))) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(RedisConstants.TOPIC_FAVORITE_MIGRATION_LOCK_KEY,
+                1, Duration.ofMinutes(RedisConstants.MIGRATION_LOCK_TTL)))) {
+            log.info("其他节点正在迁移话题收藏");
+            return;
+        }
+        try {
+            // 取得锁之前其他节点可能刚完成迁移
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(RedisConstants.TOPIC_FAVORITE_MIGRATED_KEY))) {
+                backfillFavoriteBatches();
+            }
+        } finally {
+            redisTemplate.delete(RedisConstants.TOPIC_FAVORITE_MIGRATION_LOCK_KEY);
+        }
+    }
+
+    private void backfillFavoriteBatches() {
+        String lastId = "";
+        int migrated = 0;
+        Set<Long> topicIds = new HashSet<>();
+        while (true) {
+            LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(User::getId)
+                    .gt(User::getId, lastId)
+                    .orderByAsc(User::getId)
+                    .last("LIMIT " + BACKFILL_BATCH_SIZE);
+            List<String> userIds = userMapper.selectList(queryWrapper).stream().map(User::getId).toList();
+            if (userIds.isEmpty()) {
+                break;
+            }
+            List<Object> favorites = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String userId : userIds) {
+                        ops.opsForZSet().rangeWithScores(favoriteKey(userId), 0, -1);
+                    }
+                    return null;
+                }
+            });
+            List<String> migratedUsers = new ArrayList<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                Object tuples = favorites.get(i);
+                if (!(tuples instanceof Set) || ((Set<?>) tuples).isEmpty()) {
+                    continue;
+                }
+                for (Object item : (Set<?>) tuples) {
+                    ZSetOperations.TypedTuple<?> tuple = (ZSetOperations.TypedTuple<?>) item;
+                    String member = String.valueOf(tuple.getValue());
+                    if (ReactionConstants.LOADED_MARKER.equals(member) || tuple.getScore() == null) {
+                        continue;
+                    }
+                    Long topicId = Long.parseLong(member);
+                    reactionService.record(ReactionConstants.TOPIC_FAVORITE, topicId, userIds.get(i), true,
+                            tuple.getScore().longValue());
+                    topicIds.add(topicId);
+                }
+                migratedUsers.add(userIds.get(i));
+            }
+            reactionService.flush();
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (String userId : migratedUsers) {
+                        ops.opsForZSet().add(favoriteKey(userId), ReactionConstants.LOADED_MARKER, 0);
+                        ops.expire(favoriteKey(userId), ttl());
+                    }
+                    return null;
+                }
+            });
+            migrated += migratedUsers.size();
+            lastId = userIds.get(userIds.size() - 1);
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (Long topicId : topicIds) {
+                    ops.expire(countKey(topicId), ttl());
+                }
+                return null;
+            }
+        });
+        redisTemplate.opsForValue().set(RedisConstants.TOPIC_FAVORITE_MIGRATED_KEY, 1);
+        log.info("话题收藏迁移完成，用户数量：{}，话题数量：{}", migrated, topicIds.size());
+    }
+
+    private String favoriteKey(String userId) {
+        return RedisConstants.USER_FAVORITE_TOPICS_KEY + userId;
+    }
+
+    private String countKey(Long topicId) {
+        return RedisConstants.TOPIC_FAVORITE_COUNT_KEY + topicId;
+    }
+
+    private Duration ttl() {
+        return Duration.ofHours(reactionProperties.getRedisTtlHours());
+    }
+}
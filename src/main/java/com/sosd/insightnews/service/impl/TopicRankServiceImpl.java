@@ -0,0 +1,490 @@
+package com.sosd.insightnews.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.cache.TopicCache;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import com.sosd.insightnews.event.TopicChangedEvent;
+import com.sosd.insightnews.service.TopicRankService;
+import com.sosd.insightnews.util.properties.TopicProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 话题热度排行服务实现类
+ * 全站榜单与分类榜单均为 ZSET，浏览增量在本地缓冲后批量写入，读取时只取请求的一页；
+ * 趋势榜单由按小时分桶的浏览计数定时按指数衰减汇总得到；
+ * 话题新增、修改分类或删除后立即更新榜单成员，定时全量同步兜底
+ */
+@Service
+@Slf4j
+public class TopicRankServiceImpl implements TopicRankService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private ScienceTopicMapper scienceTopicMapper;
+
+    @Autowired
+    private TopicCache topicCache;
+
+    @Autowired
+    private TopicProperties topicProperties;
+
+    @Autowired
+    @Qualifier("flushThreadPool")
+    private ExecutorService flushThreadPool;
+
+    // 待刷入的浏览增量，按话题分条，LongAdder 分散高并发写竞争
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong firstPendingAt = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 待刷入的热门搜索增量，按标题合并
+    private final Map<String, LongAdder> pendingSearchHits = new ConcurrentHashMap<>();
+    private final ReentrantLock searchFlushLock = new ReentrantLock();
+
+    private final LongAdder flushedEvents = new LongAdder();
+    private final LongAdder flushedSearchHits = new LongAdder();
+    private final AtomicLong maxFlushLagMillis = new AtomicLong();
+    private volatile long lastFlushLagMillis;
+    private volatile long lastFlushMillis;
+
+    @Override
+    public void recordView(ScienceTopic topic) {
+        // 在 compute 内累加，与刷入后的清理互斥，避免增量落在已移除的计数器上
+        pendingViews.compute(topic.getId(), (id, views) -> {
+            LongAdder adder = views == null ? new LongAdder() : views;
+            adder.increment();
+            return adder;
+        });
+        firstPendingAt.compareAndSet(0, System.currentTimeMillis());
+        if (pendingEvents.incrementAndGet() >= topicProperties.getViewFlushMaxEvents()) {
+            flushThreadPool.execute(this::flushViews);
+        }
+    }
+
+    /**
+     * 将缓冲的浏览增量以一次管道批量写入Redis
+     * 分类在刷入时读取，话题改分类后的浏览计入新分类；已删除话题的增量直接丢弃
+     */
+    @Scheduled(fixedDelayString = "${topic.view-flush-interval-millis:1000}")
+    public void flushViews() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            long pendingSince = firstPendingAt.getAndSet(0);
+            if (pendingSince == 0) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+
+            // 只扣减已读取的部分，刷入期间的并发增量保留到下一轮
+            Map<Long, Long> deltas = new HashMap<>();
+            pendingViews.forEach((topicId, views) -> {
+                long delta = views.sum();
+                if (delta > 0) {
+                    views.add(-delta);
+                    deltas.put(topicId, delta);
+                }
+            });
+            long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+            pendingEvents.addAndGet(-total);
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            String bucketKey = RedisConstants.TOPIC_VIEW_BUCKET_KEY + currentHour();
+            Duration bucketTtl = Duration.ofHours(topicProperties.getTrendingWindowHours() + 1L);
+            try {
+                Map<Long, String> categories = new HashMap<>();
+                topicCache.getAll(new ArrayList<>(deltas.keySet()))
+                        .forEach(topic -> categories.put(topic.getId(), topic.getCategory()));
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        deltas.forEach((topicId, delta) -> {
+                            if (!categories.containsKey(topicId)) {
+                                return;
+                            }
+                            String member = String.valueOf(topicId);
+                            String category = categories.get(topicId);
+                            ops.opsForZSet().incrementScore(RedisConstants.TOPIC_VIEW_COUNT_KEY, member, delta);
+                            if (category != null && !category.isEmpty()) {
+                                ops.opsForZSet().incrementScore(categoryKey(category), member, delta);
+                                ops.opsForSet().add(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY, category);
+                            }
+                            // 按小时分桶记录，用于计算趋势热度
+                            ops.opsForZSet().incrementScore(bucketKey, member, delta);
+                        });
+                        ops.expire(bucketKey, bucketTtl);
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                // 刷入失败时归还增量，等待下一轮重试
+                log.error("话题浏览增量刷入Redis失败，待刷入数量：{}", total, e);
+                deltas.forEach((topicId, delta) -> pendingViews.get(topicId).add(delta));
+                pendingEvents.addAndGet(total);
+                firstPendingAt.compareAndSet(0, pendingSince);
+                return;
+            }
+
+            // 移除已刷完且期间没有新增量的话题，避免计数器随话题数量长期积累
+            deltas.keySet().forEach(topicId -> pendingViews.computeIfPresent(topicId,
+                    (key, views) -> views.sum() == 0 ? null : views));
+
+            long lag = start - pendingSince;
+            lastFlushLagMillis = lag;
+            maxFlushLagMillis.accumulateAndGet(lag, Math::max);
+            lastFlushMillis = System.currentTimeMillis() - start;
+            flushedEvents.add(total);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void recordSearchHits(List<ScienceTopic> topics) {
+        for (ScienceTopic topic : topics) {
+            if (topic.getTitle() != null) {
+                // 在 compute 内累加，与刷入后的清理互斥，避免增量落在已移除的计数器上
+                pendingSearchHits.compute(topic.getTitle(), (title, hits) -> {
+                    LongAdder adder = hits == null ? new LongAdder() : hits;
+                    adder.increment();
+                    return adder;
+                });
+            }
+        }
+    }
+
+    /**
+     * 将合并后的热门搜索增量以一次管道批量写入Redis
+     */
+    @Scheduled(fixedDelayString = "${topic.view-flush-interval-millis:1000}")
+    public void flushSearchHits() {
+        if (!searchFlushLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<String, Long> deltas = new HashMap<>();
+            pendingSearchHits.forEach((title, hits) -> {
+                long delta = hits.sum();
+                if (delta > 0) {
+                    hits.add(-delta);
+                    deltas.put(title, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                        deltas.forEach((title, delta) ->
+                                ops.opsForZSet().incrementScore(RedisConstants.HOT_SEARCH_TOPIC_KEY, title, delta));
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                log.error("热门搜索增量刷入Redis失败，待刷入标题数：{}", deltas.size(), e);
+                deltas.forEach((title, delta) -> pendingSearchHits.get(title).add(delta));
+                return;
+            }
+            // 移除已刷完且期间没有新增量的标题，避免长期积累
+            deltas.keySet().forEach(title -> pendingSearchHits.computeIfPresent(title,
+                    (key, hits) -> hits.sum() == 0 ? null : hits));
+            flushedSearchHits.add(deltas.values().stream().mapToLong(Long::longValue).sum());
+        } finally {
+            searchFlushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushViews();
+        flushSearchHits();
+    }
+
+    /**
+     * 浏览增量刷入统计：待刷数量、刷入延迟(最早未刷增量到开始刷入的时间)与刷入耗时
+     */
+    public Map<String, Object> getViewFlushStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingEvents", pendingEvents.get());
+        stats.put("flushedEvents", flushedEvents.sum());
+        stats.put("lastFlushLagMillis", lastFlushLagMillis);
+        stats.put("maxFlushLagMillis", maxFlushLagMillis.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("flushedSearchHits", flushedSearchHits.sum());
+        return stats;
+    }
+
+    @Scheduled(fixedRate = 5 * 60 * 1000)
+    public void logViewFlushStats() {
+        log.info("话题浏览增量刷入统计：{}", getViewFlushStats());
+    }
+
+    @Override
+    public List<Long> getHotTopicIds(String category, int page, int pageSize) {
+        String key = category == null || category.isEmpty()
+                ? RedisConstants.TOPIC_VIEW_COUNT_KEY
+                : categoryKey(category);
+        return readPage(key, page, pageSize);
+    }
+
+    @Override
+    public List<Long> getTrendingTopicIds(int page, int pageSize) {
+        return readPage(RedisConstants.TOPIC_TRENDING_KEY, page, pageSize);
+    }
+
+    /**
+     * 汇总窗口内各小时分桶的浏览次数，按指数衰减加权后写入趋势榜单
+     * score = Σ count(h) * 0.5 ^ (age(h) / halfLife)
+     */
+    @Scheduled(initialDelay = 60 * 1000, fixedDelayString = "${topic.trending-refresh-millis:300000}")
+    public void refreshTrending() {
+        long nowHour = currentHour();
+        double nowHours = System.currentTimeMillis() / (double) HOUR_MILLIS;
+        int windowHours = topicProperties.getTrendingWindowHours();
+        double halfLife = topicProperties.getTrendingHalfLifeHours();
+
+        List<Object> buckets = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (int i = 0; i < windowHours; i++) {
+                    ops.opsForZSet().rangeWithScores(RedisConstants.TOPIC_VIEW_BUCKET_KEY + (nowHour - i), 0, -1);
+                }
+                return null;
+            }
+        });
+
+        Map<Object, Double> scores = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            double weight = Math.pow(0.5, (nowHours - (nowHour - i)) / halfLife);
+            @SuppressWarnings("unchecked")
+            Set<ZSetOperations.TypedTuple<Object>> bucket = (Set<ZSetOperations.TypedTuple<Object>>) buckets.get(i);
+            if (bucket == null) {
+                continue;
+            }
+            for (ZSetOperations.TypedTuple<Object> tuple : bucket) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    scores.merge(tuple.getValue(), tuple.getScore() * weight, Double::sum);
+                }
+            }
+        }
+
+        if (scores.isEmpty()) {
+            redisTemplate.delete(RedisConstants.TOPIC_TRENDING_KEY);
+            return;
+        }
+        // 先写入临时键再原子替换，读取方不会看到写了一半的榜单
+        // 临时键使用 hash tag，保证集群模式下与榜单键位于同一slot
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+        scores.forEach((member, score) -> tuples.add(new DefaultTypedTuple<>(member, score)));
+        String tmpKey = "{" + RedisConstants.TOPIC_TRENDING_KEY + "}:tmp:" + UUID.randomUUID();
+        redisTemplate.opsForZSet().add(tmpKey, tuples);
+        redisTemplate.rename(tmpKey, RedisConstants.TOPIC_TRENDING_KEY);
+        log.info("趋势话题榜单刷新完成，话题数量：{}", tuples.size());
+    }
+
+    private List<Long> readPage(String key, int page, int pageSize) {
+        page = Math.max(page, 1);
+        pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        long start = (long) (page - 1) * pageSize;
+        Set<Object> members = redisTemplate.opsForZSet().reverseRange(key, start, start + pageSize - 1);
+        List<Long> topicIds = new ArrayList<>();
+        if (members != null) {
+            members.forEach(member -> topicIds.add(Long.parseLong(member.toString())));
+        }
+        return topicIds;
+    }
+
+    /**
+     * 将尚未进入榜单的话题以0分加入全站榜单和分类榜单，已存在的成员不受影响
+     * 分类榜单初始分数取全站榜单中的已有浏览次数；已删除的话题从各榜单移除，改了分类的话题从原分类榜单移除
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelay = 10 * 60 * 1000, fixedDelay = 10 * 60 * 1000)
+    public void syncLeaderboard() {
+        // 先读榜单再查数据库：榜单中已有的成员一定早于这次查询写入，不会把刚创建的话题误判为已删除
+        Set<String> registered = new HashSet<>();
+        Set<Object> registeredMembers = redisTemplate.opsForSet().members(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY);
+        if (registeredMembers != null) {
+            registeredMembers.forEach(category -> registered.add(category.toString()));
+        }
+        List<String> registeredList = new ArrayList<>(registered);
+        List<Object> ranked = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForZSet().rangeWithScores(RedisConstants.TOPIC_VIEW_COUNT_KEY, 0, -1);
+                ops.opsForZSet().range(RedisConstants.TOPIC_TRENDING_KEY, 0, -1);
+                registeredList.forEach(category -> ops.opsForZSet().range(categoryKey(category), 0, -1));
+                return null;
+            }
+        });
+
+        LambdaQueryWrapper<ScienceTopic> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(ScienceTopic::getId, ScienceTopic::getCategory);
+        List<ScienceTopic> topics = scienceTopicMapper.selectList(queryWrapper);
+        Map<String, String> topicCategories = new HashMap<>();
+        for (ScienceTopic topic : topics) {
+            topicCategories.put(String.valueOf(topic.getId()), topic.getCategory() == null ? "" : topic.getCategory());
+        }
+
+        Map<String, Double> globalScores = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        Set<ZSetOperations.TypedTuple<Object>> globalTuples = (Set<ZSetOperations.TypedTuple<Object>>) ranked.get(0);
+        if (globalTuples != null) {
+            globalTuples.forEach(tuple -> globalScores.put(String.valueOf(tuple.getValue()), tuple.getScore()));
+        }
+        List<String> staleGlobal = globalScores.keySet().stream()
+                .filter(member -> !topicCategories.containsKey(member)).toList();
+        List<String> staleTrending = members(ranked.get(1)).stream()
+                .filter(member -> !topicCategories.containsKey(member)).toList();
+        Map<String, List<String>> staleByCategory = new HashMap<>();
+        for (int i = 0; i < registeredList.size(); i++) {
+            String category = registeredList.get(i);
+            List<String> stale = members(ranked.get(i + 2)).stream()
+                    .filter(member -> !category.equals(topicCategories.get(member))).toList();
+            if (!stale.isEmpty()) {
+                staleByCategory.put(category, stale);
+            }
+        }
+        Set<String> liveCategories = new HashSet<>(topicCategories.values());
+        liveCategories.remove("");
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                if (!staleGlobal.isEmpty()) {
+                    ops.opsForZSet().remove(RedisConstants.TOPIC_VIEW_COUNT_KEY, staleGlobal.toArray());
+                }
+                if (!staleTrending.isEmpty()) {
+                    ops.opsForZSet().remove(RedisConstants.TOPIC_TRENDING_KEY, staleTrending.toArray());
+                }
+                staleByCategory.forEach((category, stale) ->
+                        ops.opsForZSet().remove(categoryKey(category), stale.toArray()));
+                for (String category : registered) {
+                    // 已没有话题的分类，其榜单在移除全部成员后自动删除
+                    if (!liveCategories.contains(category)) {
+                        ops.opsForSet().remove(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY, category);
+                    }
+                }
+                if (!liveCategories.isEmpty()) {
+                    ops.opsForSet().add(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY, liveCategories.toArray());
+                }
+                topicCategories.forEach((member, category) -> {
+                    ops.opsForZSet().addIfAbsent(RedisConstants.TOPIC_VIEW_COUNT_KEY, member, 0);
+                    if (!category.isEmpty()) {
+                        ops.opsForZSet().addIfAbsent(categoryKey(category), member,
+                                globalScores.getOrDefault(member, 0D));
+                    }
+                });
+                return null;
+            }
+        });
+        log.info("话题热度榜单同步完成，话题数量：{}，移除已删除话题：{}", topics.size(), staleGlobal.size());
+    }
+
+    /**
+     * 话题写入提交后立即同步其在榜单中的成员，不必等待下一次全量同步：
+     * 新话题以0分加入全站榜单和所属分类榜单，改了分类的话题从其他分类榜单移除，已删除的话题从各榜单移除
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        String member = String.valueOf(event.getTopicId());
+        ScienceTopic topic = scienceTopicMapper.selectById(event.getTopicId());
+        String category = topic == null || topic.getCategory() == null ? "" : topic.getCategory();
+        Set<Object> registered = redisTemplate.opsForSet().members(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY);
+        // 分类榜单初始分数取全站榜单中的已有浏览次数
+        Double globalScore = topic == null ? null : redisTemplate.opsForZSet().score(RedisConstants.TOPIC_VIEW_COUNT_KEY, member);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                if (registered != null) {
+                    for (Object other : registered) {
+                        if (!category.equals(other.toString())) {
+                            ops.opsForZSet().remove(categoryKey(other.toString()), member);
+                        }
+                    }
+                }
+                if (topic == null) {
+                    ops.opsForZSet().remove(RedisConstants.TOPIC_VIEW_COUNT_KEY, member);
+                    ops.opsForZSet().remove(RedisConstants.TOPIC_TRENDING_KEY, member);
+                    return null;
+                }
+                ops.opsForZSet().addIfAbsent(RedisConstants.TOPIC_VIEW_COUNT_KEY, member, 0);
+                if (!category.isEmpty()) {
+                    ops.opsForZSet().addIfAbsent(categoryKey(category), member, globalScore == null ? 0 : globalScore);
+                    ops.opsForSet().add(RedisConstants.TOPIC_VIEW_CATEGORIES_KEY, category);
+                }
+                return null;
+            }
+        });
+    }
+
+    private List<String> members(Object range) {
+        List<String> members = new ArrayList<>();
+        if (range instanceof Set) {
+            ((Set<?>) range).forEach(member -> members.add(String.valueOf(member)));
+        }
+        return members;
+    }
+
+    private long currentHour() {
+        return System.currentTimeMillis() / HOUR_MILLIS;
+    }
+
+    private String categoryKey(String category) {
+        return RedisConstants.TOPIC_VIEW_CATEGORY_KEY + category;
+    }
+}
@@ -4,12 +4,13 @@ package com.sosd.insightnews.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.sosd.insightnews.auth.AuthSnapshot;
+import com.sosd.insightnews.cache.UserCache;
 import com.sosd.insightnews.context.UserContext;
-import com.sosd.insightnews.converter.PermissionConverter;
-import com.sosd.insightnews.converter.RoleConverter;
 import com.sosd.insightnews.converter.UserConverter;
 import com.sosd.insightnews.dao.entity.*;
 import com.sosd.insightnews.dao.mapper.*;
+import com.sosd.insightnews.domain.PermissionDo;
 import com.sosd.insightnews.domain.RoleDo;
 import com.sosd.insightnews.domain.UserDo;
 import com.sosd.insightnews.dto.LoginDTO;
@@ -24,7 +25,10 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.sosd.insightnews.constant.RedisConstants.VERIFY_CODE;
 
@@ -39,21 +43,18 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Autowired
     private RoleMapper roleMapper;
 
-    @Autowired
-    private PermissionMapper permissionMapper;
-
     @Autowired
     private UserRoleMapper userRoleMapper;
 
-    @Autowired
-    private RolePermissionMapper rolePermissionMapper;
-
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private UserCache userCache;
+
     @Override
     public UserDo getUserById(String id) {
         User user = userMapper.selectById(id);
@@ -62,18 +63,37 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
         UserDo domain = UserConverter.e2do(user);
 
-        List<Role> rolesByUserId = getRolesByUserId(id);
-        if (rolesByUserId == null) {
+        // 一次联表查询角色和权限，单次遍历折叠进 UserDo
+        List<UserAuthority> authorities = userMapper.selectAuthoritiesByUserId(id);
+        if (authorities.isEmpty()) {
+            log.info("No user roles found for user ID: {}", id);
             return domain;
         }
-        domain.setRoles(RoleConverter.role2RoleDo(rolesByUserId));
-
-        List<String> roleIds = domain.getRoles().stream().map(RoleDo::getRoleid).toList();
-        List<Permission> permissionsByRoleIds = getPermissionsByRoleIds(roleIds);
-        if (permissionsByRoleIds == null) {
-            return domain;
+        Map<String, RoleDo> roles = new LinkedHashMap<>();
+        Map<Integer, PermissionDo> permissions = new LinkedHashMap<>();
+        for (UserAuthority authority : authorities) {
+            roles.computeIfAbsent(authority.getRoleName(), roleid -> {
+                RoleDo roleDo = new RoleDo();
+                roleDo.setId(authority.getRoleId());
+                roleDo.setRoleid(roleid);
+                roleDo.setDesc(authority.getRoleDescription());
+                return roleDo;
+            });
+            if (authority.getPermissionId() != null) {
+                permissions.computeIfAbsent(authority.getPermissionId(), permissionId -> {
+                    PermissionDo permissionDo = new PermissionDo();
+                    permissionDo.setId(permissionId);
+                    permissionDo.setOperation(authority.getOperation());
+                    permissionDo.setTarget(authority.getTarget());
+                    return permissionDo;
+                });
+            }
+        }
+        domain.setRoles(new ArrayList<>(roles.values()));
+        if (!permissions.isEmpty()) {
+            domain.setPermissions(new ArrayList<>(permissions.values()));
         }
-        domain.setPermissions(PermissionConverter.permission2PermissionDo(permissionsByRoleIds));
+        domain.setAuthSnapshot(AuthSnapshot.compile(domain.getRoles(), domain.getPermissions()));
         return domain;
     }
 
@@ -83,6 +103,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         log.info("User[id={}] update domain={}", domain.getId(), domain);
         User e = UserConverter.do2e(domain);
         userMapper.update(e, prepareUpdate(e));
+        userCache.invalidate(domain.getId());
     }
 
     @Override
@@ -142,6 +163,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Transactional
     public void delete(String id) {
         userMapper.deleteById(id);
+        userCache.invalidate(id);
         List<Role> roles = getRolesByUserId(id);
         if (roles == null) {
             return;
@@ -177,15 +199,4 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         queryWrapper.in(Role::getRoleid, roleIds);
         return roleMapper.selectList(queryWrapper);
     }
-
-    private List<Permission> getPermissionsByRoleIds(List<String> roleIds) {
-        LambdaQueryWrapper<RolePermission> wrapper = new LambdaQueryWrapper<>();
-        wrapper.in(RolePermission::getRoleid, roleIds);
-        List<RolePermission> rolePermissions = rolePermissionMapper.selectList(wrapper);
-        if (rolePermissions == null || rolePermissions.isEmpty()) {
-            return null;
-        }
-        List<Integer> permissionIds = rolePermissions.stream().map(RolePermission::getPermissionid).toList();
-        return permissionMapper.selectBatchIds(permissionIds);
-    }
-}
+}
\ No newline at end of file
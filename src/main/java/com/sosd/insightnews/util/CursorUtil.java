@@ -0,0 +1,48 @@
+package com.sosd.insightnews.util;
+
+import com.sosd.insightnews.exception.http.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 游标分页工具类
+ * 游标由 (创建时间, 记录ID) 组成，配合 ORDER BY created_at DESC, id DESC 实现键集分页
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = ":";
+
+    public static String encode(Date createdAt, Long id) {
+        String raw = createdAt.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标
+     * @param cursor 游标字符串
+     * @return Cursor or null(首页)
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            return new Cursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("游标格式错误", cursor);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Cursor {
+        private Date createdAt;
+        private Long id;
+    }
+}
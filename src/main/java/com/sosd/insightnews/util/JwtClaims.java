@@ -0,0 +1,18 @@
+package com.sosd.insightnews.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 校验通过的 token 声明
+ */
+@Data
+@AllArgsConstructor
+public class JwtClaims {
+    private String userId;
+    private Date issuedAt;
+    // 旧版 token 没有 exp 声明时为null
+    private Date expiresAt;
+}
@@ -1,26 +1,87 @@
 package com.sosd.insightnews.util;
 
+import cn.hutool.crypto.SecureUtil;
 import cn.hutool.jwt.JWT;
 import cn.hutool.jwt.JWTPayload;
 import cn.hutool.jwt.JWTUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
-import java.util.HashMap;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class JwtUtil {
 
     private static final byte[] key = "web@sosd".getBytes();
 
+    // token 有效期 7 天
+    private static final long TOKEN_TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    // 已校验 token 缓存，key 为 token 的 SHA-256 摘要，命中时跳过 HMAC 校验和载荷解析
+    private static final Cache<String, JwtClaims> VERIFIED_TOKENS = CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
     public static String createTokenByUserId(String userId) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("userId", userId);
-        return createToken(payload);
+        long now = System.currentTimeMillis();
+        return JWT.create()
+                .setPayload("userId", userId)
+                .setIssuedAt(new Date(now))
+                .setExpiresAt(new Date(now + TOKEN_TTL_MILLIS))
+                .setKey(key)
+                .sign();
     }
 
     public static String createToken(Map<String, Object> payload) {
         return JWTUtil.createToken(payload, key);
     }
 
+    /**
+     * 解析并校验token，同一 token 在缓存有效期内只做一次签名校验
+     * @param token
+     * @return JwtClaims or null(签名错误、已过期或缺少userId)
+     */
+    public static JwtClaims parseAndVerify(String token) {
+        long now = System.currentTimeMillis();
+        String cacheKey = SecureUtil.sha256(token);
+        JwtClaims cached = VERIFIED_TOKENS.getIfPresent(cacheKey);
+        if (cached != null) {
+            if (cached.getExpiresAt().getTime() > now) {
+                return cached;
+            }
+            VERIFIED_TOKENS.invalidate(cacheKey);
+            return null;
+        }
+
+        JWT jwt;
+        try {
+            jwt = JWTUtil.parseToken(token);
+        } catch (Exception e) {
+            return null;
+        }
+        if (!jwt.setKey(key).verify()) {
+            return null;
+        }
+        JWTPayload payload = jwt.getPayload();
+        Object userId = payload.getClaim("userId");
+        if (userId == null) {
+            return null;
+        }
+        Date issuedAt = toDate(payload.getClaim(JWTPayload.ISSUED_AT));
+        Date expiresAt = toDate(payload.getClaim(JWTPayload.EXPIRES_AT));
+        if (expiresAt != null && expiresAt.getTime() <= now) {
+            return null;
+        }
+        JwtClaims claims = new JwtClaims(String.valueOf(userId), issuedAt, expiresAt);
+        // 没有 exp 的旧版 token 无法安全地设置缓存过期时间，不进入缓存
+        if (expiresAt != null) {
+            VERIFIED_TOKENS.put(cacheKey, claims);
+        }
+        return claims;
+    }
+
     /**
      * 解析token
      * @param token
@@ -42,4 +103,12 @@ public class JwtUtil {
     public static boolean verify(String token) {
         return JWTUtil.verify(token, key);
     }
+
+    // JWT 时间声明单位为秒
+    private static Date toDate(Object seconds) {
+        if (seconds instanceof Number) {
+            return new Date(((Number) seconds).longValue() * 1000);
+        }
+        return null;
+    }
 }
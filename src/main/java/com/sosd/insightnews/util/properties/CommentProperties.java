@@ -0,0 +1,24 @@
+package com.sosd.insightnews.util.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "comment")
+public class CommentProperties {
+
+    // 评论列表中每条顶级评论预览的子评论条数
+    private int previewSize = 1;
+
+    // 回复列表每页加载的直接回复条数
+    private int replyPageSize = 20;
+
+    // 回复树最大加载层数
+    private int replyMaxDepth = 5;
+
+    // 单次请求最多加载的回复节点数
+    private int replyMaxNodes = 200;
+
+}
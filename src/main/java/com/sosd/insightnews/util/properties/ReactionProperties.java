@@ -0,0 +1,21 @@
+package com.sosd.insightnews.util.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "reaction")
+public class ReactionProperties {
+
+    // 互动变更写入数据库的间隔(毫秒)
+    private long flushIntervalMillis = 1000;
+
+    // 单条批量写入语句包含的最大记录数
+    private int flushBatchSize = 500;
+
+    // Redis 中互动集合的过期时间(小时)，过期后访问时从数据库回填
+    private long redisTtlHours = 72;
+
+}
@@ -0,0 +1,45 @@
+package com.sosd.insightnews.util.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "topic")
+public class TopicProperties {
+
+    // 趋势热度半衰期(小时)，浏览记录每经过一个半衰期权重减半
+    private double trendingHalfLifeHours = 6;
+
+    // 趋势热度统计窗口(小时)，即保留的按小时分桶数
+    private int trendingWindowHours = 48;
+
+    // 浏览增量最长缓冲时间(毫秒)，到期批量刷入Redis
+    private long viewFlushIntervalMillis = 1000;
+
+    // 浏览增量最多缓冲条数，达到后立即触发刷入；与刷入间隔共同限定宕机时可能丢失的浏览数
+    private long viewFlushMaxEvents = 1000;
+
+    // 话题搜索索引快照文件路径
+    private String searchIndexPath = "data/topic-search.idx";
+
+    // 话题搜索索引全量重建间隔(毫秒)，用于补齐停机期间的话题修改
+    private long searchIndexRebuildMillis = 60 * 60 * 1000;
+
+    // 单次搜索最多返回的话题数
+    private int searchMaxResults = 200;
+
+    // 搜索结果缓存有效期(秒)
+    private long searchCacheTtlSeconds = 60;
+
+    // 搜索结果缓存最多保存的关键词数
+    private long searchCacheMaxSize = 10_000;
+
+    // 搜索历史过期时间(天)，每次搜索时刷新
+    private long searchHistoryTtlDays = 30;
+
+    // 是否截断过长的搜索历史关键词，使搜索历史 ZSET 保持 listpack 紧凑编码；截断会改变用户看到的历史记录，默认关闭
+    private boolean searchHistoryCompact = false;
+
+}
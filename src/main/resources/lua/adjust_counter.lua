@@ -0,0 +1,9 @@
+-- 调整计数，结果不小于0
+-- KEYS[1] 计数键
+-- ARGV[1] 增量
+local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+if count < 0 then
+    redis.call('SET', KEYS[1], 0)
+    count = 0
+end
+return count
@@ -0,0 +1,13 @@
+-- 调整已存在的计数，结果不小于0；计数不存在时不创建，由读取方从数据库回填
+-- KEYS[1] 计数键
+-- ARGV[1] 增量
+-- 返回调整后的计数，计数不存在时返回 -1
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+if count < 0 then
+    redis.call('SET', KEYS[1], 0)
+    count = 0
+end
+return count
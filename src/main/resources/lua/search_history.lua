@@ -0,0 +1,7 @@
+-- 记录搜索历史：添加关键词、裁剪到最大条数并刷新过期时间
+-- KEYS[1] 用户搜索历史 ZSET
+-- ARGV[1] 关键词  ARGV[2] 时间戳(分数)  ARGV[3] 最多保留条数  ARGV[4] 过期时间(秒)
+redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1))
+redis.call('EXPIRE', KEYS[1], ARGV[4])
+return redis.call('ZCARD', KEYS[1])
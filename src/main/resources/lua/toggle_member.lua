@@ -0,0 +1,17 @@
+-- 切换集合成员：存在则移除，不存在则加入
+-- KEYS[1] SET 或 ZSET
+-- ARGV[1] 成员  ARGV[2] 分数(传入时按 ZSET 处理)
+-- 返回 1 表示本次加入了成员，0 表示本次移除了成员
+if #ARGV > 1 then
+    if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+        redis.call('ZREM', KEYS[1], ARGV[1])
+        return 0
+    end
+    redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+    return 1
+end
+if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then
+    return 0
+end
+redis.call('SADD', KEYS[1], ARGV[1])
+return 1
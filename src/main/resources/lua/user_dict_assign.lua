@@ -0,0 +1,15 @@
+-- 为一批用户ID分配稠密整数编号，已分配的直接返回原编号
+-- KEYS[1] 字典 HASH  KEYS[2] 编号计数(两键使用相同 hash tag，位于同一槽位)
+-- ARGV[1..] 用户ID
+-- 返回与 ARGV 顺序一致的编号列表
+local ids = {}
+for i, userId in ipairs(ARGV) do
+    local id = redis.call('HGET', KEYS[1], userId)
+    if id then
+        ids[i] = tonumber(id)
+    else
+        ids[i] = redis.call('INCR', KEYS[2])
+        redis.call('HSET', KEYS[1], userId, ids[i])
+    end
+end
+return ids
@@ -0,0 +1,15 @@
+-- 集合不存在时写入从数据库回填的成员并设置过期时间；已存在时不做修改，避免用数据库中可能落后的状态覆盖并发的变更
+-- KEYS[1] SET 或 ZSET
+-- ARGV[1] 过期时间(秒)  ARGV[2] 每个成员占用的参数个数(1 为 SET 成员，2 为 ZSET 分数和成员)  ARGV[3..] 成员
+-- 返回 1 表示本次写入，0 表示集合已存在
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+local command = ARGV[2] == '2' and 'ZADD' or 'SADD'
+-- 分批展开参数，避免超出 Lua 栈的参数个数限制；每批为成员参数个数的整数倍
+local step = 4000 - 4000 % tonumber(ARGV[2])
+for i = 3, #ARGV, step do
+    redis.call(command, KEYS[1], unpack(ARGV, i, math.min(i + step - 1, #ARGV)))
+end
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+return 1
@@ -0,0 +1,22 @@
+-- 评论表增加物化路径，用于子树查询、回复计数和级联软删除
+-- 每层约占20个字符(雪花ID加分隔符)，2048 可容纳约100层回复，超出时发表回复会被拒绝
+ALTER TABLE Comments ADD COLUMN path VARCHAR(2048) NULL COMMENT '物化路径(形如 /1/5/9/)' AFTER parent_id;
+
+-- 回填已有评论的路径
+UPDATE Comments c
+JOIN (
+    WITH RECURSIVE tree AS (
+        SELECT id, CAST(CONCAT('/', id, '/') AS CHAR(2048)) AS path
+        FROM Comments
+        WHERE parent_id = 0
+        UNION ALL
+        SELECT child.id, CAST(CONCAT(tree.path, child.id, '/') AS CHAR(2048))
+        FROM Comments child
+        JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, path FROM tree
+) p ON c.id = p.id
+SET c.path = p.path;
+
+-- 前缀索引，前缀匹配的范围扫描仍可使用；整列超出 InnoDB 索引长度限制
+CREATE INDEX idx_comments_path ON Comments (path(255));
@@ -0,0 +1,12 @@
+-- 点赞、收藏等用户互动的持久化表，Redis 中的互动集合过期后由此表按需回填
+CREATE TABLE IF NOT EXISTS Reaction (
+    id          BIGINT      NOT NULL AUTO_INCREMENT COMMENT '主键',
+    target_type VARCHAR(32) NOT NULL COMMENT '互动类型(comment_like、topic_favorite)',
+    target_id   BIGINT      NOT NULL COMMENT '互动对象ID',
+    user_id     VARCHAR(64) NOT NULL COMMENT '用户ID',
+    active      TINYINT     NOT NULL DEFAULT 1 COMMENT '1 有效，0 已取消',
+    updated_at  DATETIME(3) NOT NULL COMMENT '最近一次变更时间(毫秒精度，用于判断变更先后)',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_reaction_target_user (target_type, target_id, user_id),
+    KEY idx_reaction_user (target_type, user_id, active)
+) COMMENT '用户互动表';
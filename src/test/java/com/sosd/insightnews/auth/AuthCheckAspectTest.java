@@ -0,0 +1,127 @@
+package com.sosd.insightnews.auth;
+
+import com.sosd.insightnews.auth.permission.PermissionOps;
+import com.sosd.insightnews.auth.role.RoleType;
+import com.sosd.insightnews.context.UserContext;
+import com.sosd.insightnews.domain.PermissionDo;
+import com.sosd.insightnews.domain.RoleDo;
+import com.sosd.insightnews.domain.UserDo;
+import com.sosd.insightnews.exception.http.BadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 只加载切面和权限检查器，不依赖数据库和 Redis
+ */
+@SpringJUnitConfig(AuthCheckAspectTest.Config.class)
+public class AuthCheckAspectTest {
+
+    @Autowired
+    private GuardedService guardedService;
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void testRoleCheck() {
+        UserContext.setCurrentUser(user(List.of(role(RoleType.ADMIN)), List.of()));
+        assertEquals("ok", guardedService.adminOnly());
+
+        UserContext.setCurrentUser(user(List.of(role(RoleType.USER)), List.of()));
+        assertThrows(BadRequestException.class, () -> guardedService.adminOnly());
+    }
+
+    @Test
+    void testParameterReferences() {
+        UserContext.setCurrentUser(user(List.of(role(RoleType.USER)),
+                List.of(permission(PermissionOps.MODIFY_USER, "18960935500"))));
+
+        // 按参数名和按下标引用参数的结果一致
+        assertEquals("18960935500", guardedService.modifyUser("18960935500"));
+        assertEquals("18960935500", guardedService.modifyUserByIndex("18960935500"));
+        assertThrows(BadRequestException.class, () -> guardedService.modifyUser("13709040302"));
+        assertThrows(BadRequestException.class, () -> guardedService.modifyUserByIndex("13709040302"));
+    }
+
+    @Test
+    void testCachedExpressionEvaluatedPerCall() {
+        // 缓存的是解析后的表达式而不是检查结果，切换用户后重新判定
+        UserContext.setCurrentUser(user(List.of(), List.of(permission(PermissionOps.MODIFY_USER, "18960935500"))));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("18960935500", guardedService.modifyUser("18960935500"));
+        }
+
+        UserContext.setCurrentUser(user(List.of(), List.of()));
+        assertThrows(BadRequestException.class, () -> guardedService.modifyUser("18960935500"));
+    }
+
+    private static UserDo user(List<RoleDo> roles, List<PermissionDo> permissions) {
+        UserDo userDo = new UserDo();
+        userDo.setRoles(roles);
+        userDo.setPermissions(permissions);
+        return userDo;
+    }
+
+    private static RoleDo role(String roleid) {
+        RoleDo roleDo = new RoleDo();
+        roleDo.setRoleid(roleid);
+        return roleDo;
+    }
+
+    private static PermissionDo permission(String operation, String target) {
+        PermissionDo permissionDo = new PermissionDo();
+        permissionDo.setOperation(operation);
+        permissionDo.setTarget(target);
+        return permissionDo;
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class Config {
+
+        @Bean
+        public AuthCheckAspect authCheckAspect() {
+            return new AuthCheckAspect();
+        }
+
+        @Bean("authChecker")
+        public AuthChecker authChecker() {
+            return new AuthChecker();
+        }
+
+        @Bean
+        public GuardedService guardedService() {
+            return new GuardedService();
+        }
+    }
+
+    static class GuardedService {
+
+        @AuthCheck("@authChecker.isAdmin()")
+        public String adminOnly() {
+            return "ok";
+        }
+
+        @AuthCheck("@authChecker.hasModifyUserPermission(#userId)")
+        public String modifyUser(String userId) {
+            return userId;
+        }
+
+        @AuthCheck("@authChecker.hasModifyUserPermission(#p0)")
+        public String modifyUserByIndex(String userId) {
+            return userId;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sosd.insightnews.auth;
+
+import com.sosd.insightnews.auth.permission.PermissionOps;
+import com.sosd.insightnews.auth.role.RoleType;
+import com.sosd.insightnews.domain.PermissionDo;
+import com.sosd.insightnews.domain.RoleDo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthSnapshotTest {
+
+    @Test
+    void testRoleBits() {
+        AuthSnapshot snapshot = AuthSnapshot.compile(
+                List.of(role(RoleType.USER), role(RoleType.UserSelf + "18960935500")), null);
+
+        assertTrue(snapshot.hasRole(AuthSnapshot.USER));
+        assertFalse(snapshot.hasRole(AuthSnapshot.ADMIN));
+
+        AuthSnapshot admin = AuthSnapshot.compile(List.of(role(RoleType.ADMIN), role(RoleType.USER)), List.of());
+        assertTrue(admin.hasRole(AuthSnapshot.ADMIN));
+        assertTrue(admin.hasRole(AuthSnapshot.USER));
+    }
+
+    @Test
+    void testPermissionIndex() {
+        AuthSnapshot snapshot = AuthSnapshot.compile(List.of(role(RoleType.USER)), List.of(
+                permission(PermissionOps.MODIFY_USER, "18960935500"),
+                permission(PermissionOps.MODIFY_USER, "13709040302"),
+                permission("DeleteComment", "18960935500")));
+
+        assertTrue(snapshot.hasPermission(PermissionOps.MODIFY_USER, "18960935500"));
+        assertTrue(snapshot.hasPermission(PermissionOps.MODIFY_USER, "13709040302"));
+        assertTrue(snapshot.hasPermission("DeleteComment", "18960935500"));
+        // 操作与目标需同时匹配
+        assertFalse(snapshot.hasPermission("DeleteComment", "13709040302"));
+        assertFalse(snapshot.hasPermission(PermissionOps.MODIFY_USER, "15259990678"));
+        assertFalse(snapshot.hasPermission(PermissionOps.MODIFY_USER, null));
+        assertFalse(snapshot.hasPermission(null, "18960935500"));
+    }
+
+    @Test
+    void testIncompletePermissionsIgnored() {
+        AuthSnapshot snapshot = AuthSnapshot.compile(null, List.of(
+                permission(PermissionOps.MODIFY_USER, null),
+                permission(null, "18960935500")));
+
+        assertFalse(snapshot.hasPermission(PermissionOps.MODIFY_USER, "18960935500"));
+        assertFalse(snapshot.hasRole(AuthSnapshot.USER));
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        AuthSnapshot snapshot = AuthSnapshot.compile(null, null);
+
+        assertFalse(snapshot.hasRole(AuthSnapshot.ADMIN));
+        assertFalse(snapshot.hasRole(AuthSnapshot.USER));
+        assertFalse(snapshot.hasPermission(PermissionOps.MODIFY_USER, "18960935500"));
+    }
+
+    private static RoleDo role(String roleid) {
+        RoleDo role = new RoleDo();
+        role.setRoleid(roleid);
+        return role;
+    }
+
+    private static PermissionDo permission(String operation, String target) {
+        PermissionDo permission = new PermissionDo();
+        permission.setOperation(operation);
+        permission.setTarget(target);
+        return permission;
+    }
+}
@@ -0,0 +1,126 @@
+package com.sosd.insightnews.cache;
+
+import com.sosd.insightnews.config.RedisConfig;
+import com.sosd.insightnews.constant.RedisConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用户ID字典测试，只加载 Redis 相关配置，测试用户在结束时从字典中删除
+ */
+@SpringBootTest(classes = {RedisConfig.class, UserIdDictionary.class})
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+public class UserIdDictionaryTest {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> userDictAssignScript;
+
+    @Autowired
+    private UserIdDictionary userIdDictionary;
+
+    private final List<String> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "test:" + System.nanoTime() + ":";
+        for (int i = 0; i < 20; i++) {
+            userIds.add(prefix + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.opsForHash().delete(RedisConstants.USER_DICT_KEY, userIds.toArray());
+    }
+
+    @Test
+    void testIdsStableAndDistinct() {
+        Map<String, Long> ids = userIdDictionary.idsOf(userIds);
+
+        assertEquals(userIds.size(), ids.size());
+        assertEquals(userIds.size(), new HashSet<>(ids.values()).size());
+        ids.values().forEach(id -> assertTrue(id > 0));
+        // 重复的用户ID只分配一次，单个与批量查询结果一致
+        List<String> duplicated = List.of(userIds.get(0), userIds.get(0), userIds.get(1));
+        assertEquals(Map.of(userIds.get(0), ids.get(userIds.get(0)), userIds.get(1), ids.get(userIds.get(1))),
+                userIdDictionary.idsOf(duplicated));
+        assertEquals(ids.get(userIds.get(5)), userIdDictionary.idOf(userIds.get(5)));
+    }
+
+    @Test
+    void testFindIdDoesNotAssign() {
+        String userId = userIds.get(0);
+        assertNull(userIdDictionary.findId(userId));
+        assertFalse(stringRedisTemplate.opsForHash().hasKey(RedisConstants.USER_DICT_KEY, userId));
+
+        long id = newDictionary().idOf(userId);
+        // 其他节点分配后可以查到
+        assertEquals(id, userIdDictionary.findId(userId));
+    }
+
+    @Test
+    void testIdsSharedAcrossNodes() {
+        Map<String, Long> ids = userIdDictionary.idsOf(userIds.subList(0, 10));
+
+        // 另一节点的本地缓存为空，从 Redis 读到相同编号，新用户继续分配新编号
+        UserIdDictionary other = newDictionary();
+        Map<String, Long> otherIds = other.idsOf(userIds);
+        userIds.subList(0, 10).forEach(userId -> assertEquals(ids.get(userId), otherIds.get(userId)));
+        assertEquals(userIds.size(), new HashSet<>(otherIds.values()).size());
+    }
+
+    @Test
+    void testConcurrentAssignment() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Map<String, Long>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                UserIdDictionary dictionary = newDictionary();
+                tasks.add(() -> dictionary.idsOf(userIds));
+            }
+            Set<Map<String, Long>> results = new HashSet<>();
+            for (Future<Map<String, Long>> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            // 多个节点同时分配同一批用户，得到同一组编号
+            assertEquals(1, results.size());
+            assertEquals(userIds.size(), new HashSet<>(results.iterator().next().values()).size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private UserIdDictionary newDictionary() {
+        UserIdDictionary dictionary = new UserIdDictionary();
+        ReflectionTestUtils.setField(dictionary, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(dictionary, "userDictAssignScript", userDictAssignScript);
+        return dictionary;
+    }
+}
@@ -0,0 +1,200 @@
+package com.sosd.insightnews.comment;
+
+import com.sosd.insightnews.InsightNewsApplication;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.context.UserContext;
+import com.sosd.insightnews.dao.entity.Comments;
+import com.sosd.insightnews.dto.CommentsCursorQueryDTO;
+import com.sosd.insightnews.dto.CommentsDTO;
+import com.sosd.insightnews.dto.CommentsPageQueryDTO;
+import com.sosd.insightnews.dto.CommentsVO;
+import com.sosd.insightnews.dto.CursorPageBean;
+import com.sosd.insightnews.dto.PageBean;
+import com.sosd.insightnews.service.CommentsService;
+import com.sosd.insightnews.service.UserService;
+import com.sosd.insightnews.util.properties.CommentProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = {InsightNewsApplication.class})
+public class CommentTest {
+
+    private static final String USER_ID = "18960935500";
+
+    @Autowired
+    private CommentsService commentsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CommentProperties commentProperties;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // 每个用例使用独立的话题ID，避免受已有评论影响
+    private Long topicId;
+
+    private final List<Long> rootIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UserContext.setCurrentUser(userService.getUserById(USER_ID));
+        topicId = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentProperties.setReplyMaxDepth(5);
+        commentProperties.setReplyMaxNodes(200);
+        rootIds.forEach(rootId -> commentsService.deleteComment(rootId, USER_ID));
+        rootIds.clear();
+        UserContext.clear();
+    }
+
+    @Test
+    void testCommentPageEnrichment() {
+        Long rootId = postComment("根评论", 0L);
+        Long replyId = postComment("回复", rootId);
+        commentsService.toggleLikeComment(replyId, USER_ID);
+
+        CommentsPageQueryDTO queryDTO = new CommentsPageQueryDTO();
+        queryDTO.setPage(1);
+        queryDTO.setPageSize(10);
+        PageBean<CommentsVO> page = commentsService.getCommentsByTopicId(queryDTO, topicId);
+
+        // 顶级评论与预览子评论的点赞数、点赞状态和作者信息均已填充
+        assertEquals(1, page.getItems().size());
+        CommentsVO root = page.getItems().get(0);
+        assertEquals(rootId, root.getId());
+        assertEquals(1, root.getReplyCount());
+        assertEquals(0, root.getLikeCount());
+        assertFalse(root.isLike());
+        assertNotNull(root.getUsername());
+
+        assertEquals(1, root.getChildren().size());
+        CommentsVO reply = root.getChildren().get(0);
+        assertEquals(replyId, reply.getId());
+        assertEquals(1, reply.getLikeCount());
+        assertTrue(reply.isLike());
+        assertEquals(root.getUsername(), reply.getUsername());
+    }
+
+    @Test
+    void testReplyTreeTruncatedAtMaxDepth() {
+        commentProperties.setReplyMaxDepth(2);
+        Long rootId = postComment("根评论", 0L);
+        Long first = postComment("第一层", rootId);
+        Long second = postComment("第二层", first);
+        Long third = postComment("第三层", second);
+
+        CursorPageBean<CommentsVO> replies = commentsService.getCommentReplies(rootId, null);
+
+        // 只加载两层，第二层标记还有未加载的回复
+        assertEquals(1, replies.getItems().size());
+        CommentsVO firstVO = replies.getItems().get(0);
+        assertEquals(first, firstVO.getId());
+        assertFalse(firstVO.isHasMoreReplies());
+        assertEquals(1, firstVO.getChildren().size());
+        CommentsVO secondVO = firstVO.getChildren().get(0);
+        assertEquals(second, secondVO.getId());
+        assertTrue(secondVO.isHasMoreReplies());
+        assertTrue(secondVO.getChildren().isEmpty());
+
+        // 被截断的回复通过回复列表接口继续加载
+        CursorPageBean<CommentsVO> more = commentsService.getCommentReplies(second, null);
+        assertEquals(1, more.getItems().size());
+        assertEquals(third, more.getItems().get(0).getId());
+        assertFalse(more.isHasMore());
+    }
+
+    @Test
+    void testReplyTreeTruncatedAtMaxNodes() {
+        commentProperties.setReplyMaxNodes(3);
+        Long rootId = postComment("根评论", 0L);
+        Long withReplies = postComment("有回复", rootId);
+        Long withoutReplies = postComment("无回复", rootId);
+        postComment("回复1", withReplies);
+        postComment("回复2", withReplies);
+
+        CursorPageBean<CommentsVO> replies = commentsService.getCommentReplies(rootId, null);
+
+        // 第一层占用2个节点，第二层有2个节点超出剩余额度，整层不加载
+        assertEquals(2, replies.getItems().size());
+        for (CommentsVO reply : replies.getItems()) {
+            assertTrue(reply.getChildren().isEmpty());
+            assertEquals(reply.getId().equals(withReplies), reply.isHasMoreReplies());
+        }
+        assertTrue(replies.getItems().stream().anyMatch(reply -> reply.getId().equals(withoutReplies)));
+    }
+
+    @Test
+    void testApproximateTotalForExistingTopic() {
+        int existing = 3;
+        for (int i = 0; i < existing; i++) {
+            postComment("已有评论" + i, 0L);
+        }
+        // 模拟计数器尚未建立的已有话题：新评论不能从0开始计数
+        String countKey = RedisConstants.TOPIC_COMMENT_COUNT_KEY + topicId;
+        stringRedisTemplate.delete(countKey);
+        Long newRoot = postComment("新评论", 0L);
+        assertEquals(existing + 1, approximateTotal());
+
+        // 计数器已回填，后续增减在其上进行
+        rootIds.remove(newRoot);
+        commentsService.deleteComment(newRoot, USER_ID);
+        assertEquals(existing, approximateTotal());
+
+        // 计数器不存在时删除评论不会产生负数
+        stringRedisTemplate.delete(countKey);
+        commentsService.deleteComment(rootIds.remove(0), USER_ID);
+        assertEquals(existing - 1, approximateTotal());
+    }
+
+    @Test
+    void testReplyToCommentWithoutPath() {
+        Long rootId = postComment("根评论", 0L);
+        Long replyId = postComment("回复", rootId);
+        // 模拟路径回填遗漏的评论
+        commentsService.lambdaUpdate().set(Comments::getPath, null).eq(Comments::getId, replyId).update();
+
+        Long nestedId = postComment("嵌套回复", replyId);
+        assertEquals("/" + rootId + "/" + replyId + "/", commentsService.getById(replyId).getPath());
+        assertEquals("/" + rootId + "/" + replyId + "/" + nestedId + "/", commentsService.getById(nestedId).getPath());
+    }
+
+    private long approximateTotal() {
+        CommentsCursorQueryDTO queryDTO = new CommentsCursorQueryDTO();
+        queryDTO.setWithTotal(true);
+        return commentsService.getCommentsByTopicIdCursor(queryDTO, topicId).getTotal();
+    }
+
+    /**
+     * 发表评论并返回新评论ID，顶级评论在用例结束时连同子树一起删除
+     */
+    private Long postComment(String content, Long parentId) {
+        commentsService.postComment(new CommentsDTO(content, parentId, null), topicId);
+        Comments latest = commentsService.lambdaQuery()
+                .eq(Comments::getTopicId, topicId)
+                .orderByDesc(Comments::getId)
+                .last("LIMIT 1")
+                .one();
+        if (parentId == 0L) {
+            rootIds.add(latest.getId());
+        }
+        return latest.getId();
+    }
+}
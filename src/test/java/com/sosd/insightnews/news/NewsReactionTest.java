@@ -0,0 +1,144 @@
+package com.sosd.insightnews.news;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.InsightNewsApplication;
+import com.sosd.insightnews.constant.ReactionConstants;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.Reaction;
+import com.sosd.insightnews.dao.mapper.ReactionMapper;
+import com.sosd.insightnews.dto.NewsDTO;
+import com.sosd.insightnews.service.NewsReactionService;
+import com.sosd.insightnews.service.ReactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = {InsightNewsApplication.class})
+public class NewsReactionTest {
+
+    private static final String USER_ID = "18960935500";
+
+    private static final String OTHER_USER_ID = "13709040302";
+
+    @Autowired
+    private NewsReactionService newsReactionService;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private ReactionMapper reactionMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    // 每个用例使用独立的新闻ID，避免受已有互动影响
+    private Long newsId;
+
+    @BeforeEach
+    void setUp() {
+        newsId = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactionService.flush();
+        reactionMapper.delete(new LambdaQueryWrapper<Reaction>()
+                .in(Reaction::getTargetType, ReactionConstants.NEWS_LIKE, ReactionConstants.NEWS_DISLIKE,
+                        ReactionConstants.NEWS_FAVORITE)
+                .eq(Reaction::getTargetId, newsId));
+        expireSets();
+    }
+
+    @Test
+    void testToggleDislikeRemovesLike() {
+        // 数据库中已有的点赞，集合在读取时回填
+        reactionService.record(ReactionConstants.NEWS_LIKE, newsId, USER_ID, true);
+        reactionService.record(ReactionConstants.NEWS_LIKE, newsId, OTHER_USER_ID, true);
+        reactionService.flush();
+        NewsDTO news = mark();
+        assertEquals(1, news.getIsDislike());
+        assertEquals(2, news.getLikeCount());
+
+        // 点踩时取消点赞，其他用户的点赞不受影响
+        assertTrue(newsReactionService.toggleDislike(newsId, USER_ID));
+        news = mark();
+        assertEquals(2, news.getIsDislike());
+        assertEquals(1, news.getLikeCount());
+
+        // 集合过期后从数据库回填的状态一致
+        reactionService.flush();
+        expireSets();
+        news = mark();
+        assertEquals(2, news.getIsDislike());
+        assertEquals(1, news.getLikeCount());
+
+        // 取消点踩后既未点赞也未点踩
+        assertFalse(newsReactionService.toggleDislike(newsId, USER_ID));
+        assertEquals(0, mark().getIsDislike());
+    }
+
+    @Test
+    void testMarkReactionsWarmAndRefilled() {
+        assertTrue(newsReactionService.toggleFavorite(newsId, USER_ID));
+        assertTrue(newsReactionService.toggleFavorite(newsId, OTHER_USER_ID));
+
+        NewsDTO news = mark();
+        assertTrue(news.isCollect());
+        assertEquals(2, news.getFavoriteCount());
+        assertEquals(0, news.getLikeCount());
+        assertEquals(0, news.getIsDislike());
+
+        // 集合过期后从数据库回填，结果与回填前一致
+        reactionService.flush();
+        expireSets();
+        news = mark();
+        assertTrue(news.isCollect());
+        assertEquals(2, news.getFavoriteCount());
+
+        // 回填后的集合上继续读取
+        assertFalse(newsReactionService.toggleFavorite(newsId, USER_ID));
+        news = mark();
+        assertFalse(news.isCollect());
+        assertEquals(1, news.getFavoriteCount());
+    }
+
+    @Test
+    void testPlaceholderNotCounted() {
+        // 没有互动的新闻回填后集合只有占位成员
+        NewsDTO news = mark();
+        assertEquals(0, news.getLikeCount());
+        assertEquals(0, news.getFavoriteCount());
+        assertEquals(1L, stringRedisTemplate.opsForSet().size(RedisConstants.NEWS_FAVORITE_KEY + newsId));
+        assertTrue(Boolean.TRUE.equals(stringRedisTemplate.opsForSet()
+                .isMember(RedisConstants.NEWS_FAVORITE_KEY + newsId, ReactionConstants.LOADED_MARKER_ID)));
+
+        // 已存在的集合上读取同样不计入占位成员
+        news = mark();
+        assertEquals(0, news.getLikeCount());
+        assertEquals(0, news.getFavoriteCount());
+        assertFalse(news.isCollect());
+        assertEquals(0, news.getIsDislike());
+    }
+
+    private NewsDTO mark() {
+        NewsDTO news = new NewsDTO();
+        news.setId(newsId);
+        newsReactionService.markReactions(List.of(news), USER_ID);
+        return news;
+    }
+
+    private void expireSets() {
+        stringRedisTemplate.delete(List.of(RedisConstants.NEWS_LIKE_KEY + newsId,
+                RedisConstants.NEWS_DISLIKE_KEY + newsId, RedisConstants.NEWS_FAVORITE_KEY + newsId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.sosd.insightnews.reaction;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.InsightNewsApplication;
+import com.sosd.insightnews.dao.entity.Reaction;
+import com.sosd.insightnews.dao.mapper.ReactionMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = {InsightNewsApplication.class})
+public class ReactionTest {
+
+    private static final String TYPE = "test_reaction";
+
+    private static final String USER_ID = "18960935500";
+
+    @Autowired
+    private ReactionMapper reactionMapper;
+
+    // 每个用例使用独立的对象ID
+    private Long targetId;
+
+    @BeforeEach
+    void setUp() {
+        targetId = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactionMapper.delete(new LambdaQueryWrapper<Reaction>()
+                .eq(Reaction::getTargetType, TYPE)
+                .eq(Reaction::getTargetId, targetId));
+    }
+
+    @Test
+    void testOlderChangeDoesNotOverwriteNewer() {
+        long now = System.currentTimeMillis();
+        // 节点B缓冲的较晚的取消先写入，节点A缓冲的较早的点赞后写入
+        reactionMapper.upsertBatch(List.of(reaction(false, now)));
+        reactionMapper.upsertBatch(List.of(reaction(true, now - 1000)));
+
+        Reaction stored = load();
+        assertEquals(0, stored.getActive());
+        assertEquals(now, stored.getUpdatedAt().getTime());
+
+        // 更晚的变更仍然覆盖
+        reactionMapper.upsertBatch(List.of(reaction(true, now + 1000)));
+        stored = load();
+        assertEquals(1, stored.getActive());
+        assertEquals(now + 1000, stored.getUpdatedAt().getTime());
+    }
+
+    private Reaction load() {
+        return reactionMapper.selectOne(new LambdaQueryWrapper<Reaction>()
+                .eq(Reaction::getTargetType, TYPE)
+                .eq(Reaction::getTargetId, targetId)
+                .eq(Reaction::getUserId, USER_ID));
+    }
+
+    private Reaction reaction(boolean active, long timeMillis) {
+        Reaction reaction = new Reaction();
+        reaction.setTargetType(TYPE);
+        reaction.setTargetId(targetId);
+        reaction.setUserId(USER_ID);
+        reaction.setActive(active ? 1 : 0);
+        reaction.setUpdatedAt(new Date(timeMillis));
+        return reaction;
+    }
+}
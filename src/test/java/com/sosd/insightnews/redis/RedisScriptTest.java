@@ -0,0 +1,152 @@
+package com.sosd.insightnews.redis;
+
+import com.sosd.insightnews.cache.ReactionSetWarmer;
+import com.sosd.insightnews.config.RedisConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lua 脚本测试，只加载 Redis 相关配置
+ */
+@SpringBootTest(classes = {RedisConfig.class, ReactionSetWarmer.class})
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+public class RedisScriptTest {
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private DefaultRedisScript<Long> adjustCounterScript;
+
+    @Autowired
+    private DefaultRedisScript<Long> adjustExistingCounterScript;
+
+    @Autowired
+    private DefaultRedisScript<Long> toggleMemberScript;
+
+    @Autowired
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> userDictAssignScript;
+
+    @Autowired
+    private DefaultRedisScript<Long> warmMembersScript;
+
+    @Autowired
+    private ReactionSetWarmer reactionSetWarmer;
+
+    // 每个用例使用独立的键，结束时删除
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        key = "{test:script:" + System.nanoTime() + "}";
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.delete(List.of(key, key + ":seq", key + ":other"));
+    }
+
+    @Test
+    void testAdjustCounterClampedAtZero() {
+        assertEquals(1L, adjust(adjustCounterScript, 1));
+        assertEquals(0L, adjust(adjustCounterScript, -3));
+        assertEquals("0", stringRedisTemplate.opsForValue().get(key));
+        assertEquals(2L, adjust(adjustCounterScript, 2));
+    }
+
+    @Test
+    void testAdjustExistingCounter() {
+        // 计数不存在时不创建
+        assertEquals(-1L, adjust(adjustExistingCounterScript, 1));
+        assertFalse(Boolean.TRUE.equals(stringRedisTemplate.hasKey(key)));
+
+        stringRedisTemplate.opsForValue().set(key, "3");
+        assertEquals(4L, adjust(adjustExistingCounterScript, 1));
+        assertEquals(0L, adjust(adjustExistingCounterScript, -5));
+        assertEquals("0", stringRedisTemplate.opsForValue().get(key));
+    }
+
+    @Test
+    void testToggleSetMember() {
+        assertEquals(1L, stringRedisTemplate.execute(toggleMemberScript, List.of(key), "42"));
+        assertTrue(Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, "42")));
+        assertEquals(0L, stringRedisTemplate.execute(toggleMemberScript, List.of(key), "42"));
+        assertFalse(Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, "42")));
+    }
+
+    @Test
+    void testToggleZSetMember() {
+        assertEquals(1L, stringRedisTemplate.execute(toggleMemberScript, List.of(key), "42", "1700000000000"));
+        assertEquals(1700000000000D, stringRedisTemplate.opsForZSet().score(key, "42"));
+        assertEquals(0L, stringRedisTemplate.execute(toggleMemberScript, List.of(key), "42", "1700000000001"));
+        assertNull(stringRedisTemplate.opsForZSet().score(key, "42"));
+    }
+
+    @Test
+    void testWarmSetOnlyWhenAbsent() {
+        assertEquals(1L, stringRedisTemplate.execute(warmMembersScript, List.of(key), "60", "1", "1", "2", "0"));
+        assertEquals(Set.of("1", "2", "0"), stringRedisTemplate.opsForSet().members(key));
+        assertTrue(stringRedisTemplate.getExpire(key) > 0);
+
+        // 集合已存在时不覆盖其上的变更
+        stringRedisTemplate.opsForSet().remove(key, "2");
+        assertEquals(0L, stringRedisTemplate.execute(warmMembersScript, List.of(key), "60", "1", "1", "2", "0"));
+        assertEquals(Set.of("1", "0"), stringRedisTemplate.opsForSet().members(key));
+    }
+
+    @Test
+    void testWarmZSet() {
+        List<String> args = new ArrayList<>(List.of("60", "2"));
+        // 超过单次展开的成员数
+        for (int i = 1; i <= 5000; i++) {
+            args.add(String.valueOf(i));
+            args.add("topic" + i);
+        }
+        assertEquals(1L, stringRedisTemplate.execute(warmMembersScript, List.of(key), args.toArray()));
+        assertEquals(5000L, stringRedisTemplate.opsForZSet().zCard(key));
+        assertEquals(4321D, stringRedisTemplate.opsForZSet().score(key, "topic4321"));
+    }
+
+    @Test
+    void testWarmSetsPipelined() {
+        stringRedisTemplate.opsForSet().add(key, "0");
+        reactionSetWarmer.warmSets(Map.of(key, List.of("1", "0"), key + ":other", List.of("2", "0")), Duration.ofMinutes(1));
+
+        assertEquals(Set.of("0"), stringRedisTemplate.opsForSet().members(key));
+        assertEquals(Set.of("2", "0"), stringRedisTemplate.opsForSet().members(key + ":other"));
+        assertTrue(stringRedisTemplate.getExpire(key + ":other") > 0);
+    }
+
+    @Test
+    void testUserDictAssign() {
+        List<String> keys = List.of(key, key + ":seq");
+        assertEquals(List.of(1L, 2L), stringRedisTemplate.execute(userDictAssignScript, keys, "18960935500", "13709040302"));
+
+        // 已分配的用户返回原编号，新用户分配下一个编号，结果与参数顺序一致
+        assertEquals(List.of(3L, 2L, 1L),
+                stringRedisTemplate.execute(userDictAssignScript, keys, "15880093201", "13709040302", "18960935500"));
+    }
+
+    private Long adjust(DefaultRedisScript<Long> script, long delta) {
+        return stringRedisTemplate.execute(script, List.of(key), String.valueOf(delta));
+    }
+}
@@ -0,0 +1,174 @@
+package com.sosd.insightnews.search;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.sosd.insightnews.cache.SearchResultCache;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import com.sosd.insightnews.util.properties.TopicProperties;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 话题索引单元测试，数据库以模拟对象代替
+ */
+public class TopicSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ScienceTopicMapper scienceTopicMapper;
+
+    private SearchResultCache searchResultCache;
+
+    private TopicProperties topicProperties;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 查询条件中的 Lambda 列引用依赖实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), ScienceTopic.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        scienceTopicMapper = mock(ScienceTopicMapper.class);
+        searchResultCache = mock(SearchResultCache.class);
+        topicProperties = new TopicProperties();
+        topicProperties.setSearchIndexPath(tempDir.resolve("topic-search.idx").toString());
+    }
+
+    @Test
+    void testBm25Ranking() {
+        TopicSearchIndex index = buildIndex(List.of(
+                topic(1L, "新能源汽车", "电池技术发展"),
+                topic(2L, "电池回收", "新能源汽车电池的回收利用"),
+                topic(3L, "天气预报", "明日多云")));
+
+        // 标题命中排在只有总结命中之前
+        assertEquals(List.of(1L, 2L), index.search("新能源", 10));
+        // 词频更高的排在前面
+        assertEquals(List.of(2L, 1L), index.search("电池", 10));
+        assertEquals(List.of(1L), index.search("新能源", 1));
+    }
+
+    @Test
+    void testAllTermsRequired() {
+        TopicSearchIndex index = buildIndex(List.of(
+                topic(1L, "量子计算", "量子比特"),
+                topic(2L, "云计算", "数据中心")));
+
+        assertEquals(List.of(1L), index.search("量子计算", 10));
+        assertEquals(List.of(2L, 1L), index.search("计算", 10));
+        assertTrue(index.search("量子 数据", 10).isEmpty());
+        assertTrue(index.search("火星", 10).isEmpty());
+    }
+
+    @Test
+    void testWordPrefixMatch() {
+        TopicSearchIndex index = buildIndex(List.of(
+                topic(1L, "Quantum computing", "qubits"),
+                topic(2L, "Quantization in AI", "model compression"),
+                topic(3L, "ChatGPT", "large language model")));
+
+        assertEquals(2, index.search("quant", 10).size());
+        assertEquals(List.of(1L), index.search("QUANTUM", 10));
+        assertEquals(List.of(1L), index.search("quant comput", 10));
+        // 不支持词中间的子串匹配
+        assertTrue(index.search("uantum", 10).isEmpty());
+        assertEquals(List.of(3L, 2L), index.search("mod", 10));
+    }
+
+    @Test
+    void testRefreshTopic() {
+        TopicSearchIndex index = buildIndex(List.of(
+                topic(1L, "量子计算", "量子比特"),
+                topic(2L, "云计算", "数据中心")));
+
+        when(scienceTopicMapper.selectById(1L)).thenReturn(topic(1L, "核聚变", "托卡马克"));
+        index.refreshTopic(1L);
+        assertTrue(index.search("量子", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("核聚变", 10));
+        verify(searchResultCache).invalidateAll();
+
+        when(scienceTopicMapper.selectById(2L)).thenReturn(null);
+        index.refreshTopic(2L);
+        assertTrue(index.search("云计算", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesDuringRebuildReplayed() {
+        TopicSearchIndex index = newIndex();
+        ScienceTopic updated = topic(1L, "核聚变", "托卡马克");
+        when(scienceTopicMapper.selectById(1L)).thenReturn(updated);
+        when(scienceTopicMapper.selectBatchIds(anyList())).thenReturn(List.of(updated));
+        // 重建读到旧版本后，话题在切换索引前被修改
+        when(scienceTopicMapper.selectList(any()))
+                .thenAnswer(invocation -> {
+                    index.refreshTopic(1L);
+                    return List.of(topic(1L, "量子计算", "量子比特"));
+                })
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertTrue(index.search("量子", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("核聚变", 10));
+    }
+
+    @Test
+    void testSnapshotReload() {
+        buildIndex(List.of(
+                topic(1L, "Quantum computing", "量子比特"),
+                topic(2L, "云计算", "数据中心")));
+
+        // 启动时加载快照，只补充快照之后新增的话题
+        when(scienceTopicMapper.selectList(any()))
+                .thenReturn(List.of(topic(3L, "量子通信", "quantum key distribution")))
+                .thenReturn(List.of());
+        TopicSearchIndex reloaded = newIndex();
+        reloaded.init();
+
+        assertTrue(reloaded.isReady());
+        // 快照中的话题与新增话题一起参与排序，标题命中在前
+        assertEquals(List.of(1L, 3L), reloaded.search("quant", 10));
+        assertEquals(List.of(2L), reloaded.search("云计算", 10));
+    }
+
+    private TopicSearchIndex buildIndex(List<ScienceTopic> topics) {
+        when(scienceTopicMapper.selectList(any())).thenReturn(topics).thenReturn(List.of());
+        TopicSearchIndex index = newIndex();
+        index.rebuild();
+        return index;
+    }
+
+    private TopicSearchIndex newIndex() {
+        TopicSearchIndex index = new TopicSearchIndex();
+        ReflectionTestUtils.setField(index, "scienceTopicMapper", scienceTopicMapper);
+        ReflectionTestUtils.setField(index, "topicProperties", topicProperties);
+        ReflectionTestUtils.setField(index, "searchResultCache", searchResultCache);
+        return index;
+    }
+
+    private static ScienceTopic topic(Long id, String title, String description) {
+        ScienceTopic topic = new ScienceTopic();
+        topic.setId(id);
+        topic.setTitle(title);
+        topic.setDescription(description);
+        return topic;
+    }
+}
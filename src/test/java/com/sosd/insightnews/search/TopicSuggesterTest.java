@@ -0,0 +1,184 @@
+package com.sosd.insightnews.search;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.sosd.insightnews.constant.RedisConstants;
+import com.sosd.insightnews.dao.entity.ScienceTopic;
+import com.sosd.insightnews.dao.mapper.ScienceTopicMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 话题补全字典树单元测试，数据库和 Redis 以模拟对象代替
+ */
+public class TopicSuggesterTest {
+
+    private ScienceTopicMapper scienceTopicMapper;
+
+    private ZSetOperations<String, Object> zSetOperations;
+
+    private TopicSuggester suggester;
+
+    // 当前热门搜索分数，由模拟的 ZSET 返回
+    private final Map<String, Double> hotSearches = new HashMap<>();
+
+    @BeforeAll
+    static void initTableInfo() {
+        // 查询条件中的 Lambda 列引用依赖实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), ScienceTopic.class);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        scienceTopicMapper = mock(ScienceTopicMapper.class);
+        zSetOperations = mock(ZSetOperations.class);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores(eq(RedisConstants.HOT_SEARCH_TOPIC_KEY), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+                    hotSearches.forEach((text, score) -> tuples.add(new DefaultTypedTuple<>(text, score)));
+                    return tuples;
+                });
+
+        suggester = new TopicSuggester();
+        ReflectionTestUtils.setField(suggester, "scienceTopicMapper", scienceTopicMapper);
+        ReflectionTestUtils.setField(suggester, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void testSuggestOrdering() {
+        init(List.of(topic(1L, "量子计算"), topic(2L, "量子通信"), topic(3L, "量子"), topic(4L, "云计算")));
+        hotSearches.put("量子通信", 5.0);
+        suggester.refreshHotSearch();
+
+        // 分数高的在前，分数相同时短词在前
+        assertEquals(List.of("量子通信", "量子", "量子计算"), suggester.suggest("量", 10));
+        assertEquals(List.of("量子通信"), suggester.suggest(" 量子 ", 1));
+        assertEquals(List.of("云计算"), suggester.suggest("云", 10));
+        assertTrue(suggester.suggest("火星", 10).isEmpty());
+        assertTrue(suggester.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testTopicTitleChanges() {
+        init(List.of(topic(1L, "Quantum Computing"), topic(2L, "Quantum Computing")));
+        assertEquals(List.of("Quantum Computing"), suggester.suggest("QUANT", 10));
+
+        // 同一标题被两个话题引用，删除其中一个后仍保留
+        when(scienceTopicMapper.selectById(1L)).thenReturn(null);
+        suggester.refreshTopic(1L);
+        assertEquals(List.of("Quantum Computing"), suggester.suggest("quant", 10));
+
+        when(scienceTopicMapper.selectById(2L)).thenReturn(topic(2L, "Quantization"));
+        suggester.refreshTopic(2L);
+        assertEquals(List.of("Quantization"), suggester.suggest("quant", 10));
+        assertTrue(suggester.suggest("quantum", 10).isEmpty());
+    }
+
+    @Test
+    void testTopKMatchesBruteForce() {
+        Random random = new Random(42);
+        String alphabet = "abc";
+        List<ScienceTopic> topics = new ArrayList<>();
+        Map<Long, String> titles = new HashMap<>();
+        for (long id = 1; id <= 60; id++) {
+            String title = randomWord(random, alphabet);
+            topics.add(topic(id, title));
+            titles.put(id, title);
+        }
+        init(topics);
+
+        for (int round = 0; round < 200; round++) {
+            // 随机调整热门搜索分数：新增、升高、降低或掉出榜单
+            for (int i = 0; i < 5; i++) {
+                String word = randomWord(random, alphabet);
+                if (random.nextInt(4) == 0) {
+                    hotSearches.remove(word);
+                } else {
+                    hotSearches.put(word, (double) random.nextInt(20));
+                }
+            }
+            suggester.refreshHotSearch();
+
+            // 随机修改或删除话题标题
+            long topicId = 1 + random.nextInt(60);
+            String title = random.nextInt(5) == 0 ? null : randomWord(random, alphabet);
+            ScienceTopic changed = title == null ? null : topic(topicId, title);
+            when(scienceTopicMapper.selectById(topicId)).thenReturn(changed);
+            suggester.refreshTopic(topicId);
+            if (title == null) {
+                titles.remove(topicId);
+            } else {
+                titles.put(topicId, title);
+            }
+
+            for (String prefix : List.of("a", "b", "ab", "ca", "abc", "bb")) {
+                assertEquals(expected(prefix, titles), suggester.suggest(prefix, TopicSuggester.MAX_SUGGESTIONS),
+                        "round " + round + ", prefix " + prefix);
+            }
+        }
+    }
+
+    /**
+     * 对全部候选词排序得到的前 K 个结果
+     */
+    private List<String> expected(String prefix, Map<Long, String> titles) {
+        Map<String, Double> candidates = new HashMap<>();
+        titles.values().forEach(title -> candidates.put(title, 0.0));
+        hotSearches.forEach(candidates::put);
+        return candidates.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .sorted(Comparator.<Map.Entry<String, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                        .thenComparingInt(entry -> entry.getKey().length())
+                        .thenComparing(Map.Entry::getKey))
+                .limit(TopicSuggester.MAX_SUGGESTIONS)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void init(List<ScienceTopic> topics) {
+        when(scienceTopicMapper.selectList(any())).thenReturn(topics);
+        suggester.init();
+    }
+
+    private static String randomWord(Random random, String alphabet) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+
+    private static ScienceTopic topic(Long id, String title) {
+        ScienceTopic topic = new ScienceTopic();
+        topic.setId(id);
+        topic.setTitle(title);
+        return topic;
+    }
+}
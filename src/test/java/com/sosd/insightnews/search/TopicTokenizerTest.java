@@ -0,0 +1,36 @@
+package com.sosd.insightnews.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopicTokenizerTest {
+
+    @Test
+    void testIndexTokens() {
+        // 汉字产出单字和二元组，字母数字按整词转小写
+        assertEquals(List.of("量", "子", "计", "算", "量子", "子计", "计算", "quantum", "2024"),
+                TopicTokenizer.tokenizeForIndex("量子计算 Quantum-2024"));
+    }
+
+    @Test
+    void testQueryTokens() {
+        assertEquals(List.of("量子", "子计", "计算"), TopicTokenizer.tokenizeForQuery("量子计算"));
+        assertEquals(List.of("量"), TopicTokenizer.tokenizeForQuery("量"));
+        assertEquals(List.of("ai", "芯片"), TopicTokenizer.tokenizeForQuery("AI芯片"));
+        assertTrue(TopicTokenizer.tokenizeForQuery("  ,.! ").isEmpty());
+        assertTrue(TopicTokenizer.tokenizeForQuery(null).isEmpty());
+    }
+
+    @Test
+    void testWordToken() {
+        assertTrue(TopicTokenizer.isWordToken("quant"));
+        assertTrue(TopicTokenizer.isWordToken("5g"));
+        assertFalse(TopicTokenizer.isWordToken("量子"));
+        assertFalse(TopicTokenizer.isWordToken(""));
+    }
+}
@@ -0,0 +1,81 @@
+package com.sosd.insightnews.user;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sosd.insightnews.InsightNewsApplication;
+import com.sosd.insightnews.dao.entity.Permission;
+import com.sosd.insightnews.dao.entity.Role;
+import com.sosd.insightnews.dao.entity.RolePermission;
+import com.sosd.insightnews.dao.entity.UserRole;
+import com.sosd.insightnews.dao.mapper.PermissionMapper;
+import com.sosd.insightnews.dao.mapper.RoleMapper;
+import com.sosd.insightnews.dao.mapper.RolePermissionMapper;
+import com.sosd.insightnews.dao.mapper.UserRoleMapper;
+import com.sosd.insightnews.domain.PermissionDo;
+import com.sosd.insightnews.domain.RoleDo;
+import com.sosd.insightnews.domain.UserDo;
+import com.sosd.insightnews.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(classes = {InsightNewsApplication.class})
+public class UserAuthorityTest {
+
+    private static final String USER_ID = "18960935500";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
+
+    @Autowired
+    private RoleMapper roleMapper;
+
+    @Autowired
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    /**
+     * 联表查询折叠出的角色和权限与逐表查询的结果一致，且没有重复
+     */
+    @Test
+    void testJoinedAuthoritiesMatchTableLookups() {
+        UserDo userDo = userService.getUserById(USER_ID);
+        assertNotNull(userDo);
+
+        List<String> roleNames = userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>()
+                        .eq(UserRole::getUserid, USER_ID))
+                .stream().map(UserRole::getRoleid).toList();
+        Set<String> expectedRoles = roleNames.isEmpty() ? Set.of() : roleMapper.selectList(new LambdaQueryWrapper<Role>()
+                        .in(Role::getRoleid, roleNames))
+                .stream().map(Role::getRoleid).collect(Collectors.toSet());
+        List<Integer> permissionIds = roleNames.isEmpty() ? List.of() : rolePermissionMapper.selectList(new LambdaQueryWrapper<RolePermission>()
+                        .in(RolePermission::getRoleid, roleNames))
+                .stream().map(RolePermission::getPermissionid).toList();
+        Set<String> expectedPermissions = permissionIds.isEmpty() ? Set.of() : permissionMapper.selectBatchIds(permissionIds)
+                .stream().map(UserAuthorityTest::permissionKey).collect(Collectors.toSet());
+
+        List<RoleDo> roles = userDo.getRoles() == null ? List.of() : userDo.getRoles();
+        List<PermissionDo> permissions = userDo.getPermissions() == null ? List.of() : userDo.getPermissions();
+        assertEquals(expectedRoles, roles.stream().map(RoleDo::getRoleid).collect(Collectors.toSet()));
+        assertEquals(expectedRoles.size(), roles.size());
+        assertEquals(expectedPermissions, permissions.stream()
+                .map(permission -> permission.getId() + ":" + permission.getOperation() + ":" + permission.getTarget())
+                .collect(Collectors.toSet()));
+        assertEquals(expectedPermissions.size(), permissions.size());
+    }
+
+    private static String permissionKey(Permission permission) {
+        return permission.getId() + ":" + permission.getOperation() + ":" + permission.getTarget();
+    }
+}
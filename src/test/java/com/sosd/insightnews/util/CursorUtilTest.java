@@ -0,0 +1,46 @@
+package com.sosd.insightnews.util;
+
+import com.sosd.insightnews.exception.http.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CursorUtilTest {
+
+    @Test
+    void testEncodeDecode() {
+        Date createdAt = new Date(1_700_000_000_123L);
+        String cursor = CursorUtil.encode(createdAt, 1897654321012345678L);
+
+        // 游标可直接放在URL参数中
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"));
+
+        CursorUtil.Cursor decoded = CursorUtil.decode(cursor);
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(1897654321012345678L, decoded.getId());
+    }
+
+    @Test
+    void testDecodeFirstPage() {
+        assertNull(CursorUtil.decode(null));
+        assertNull(CursorUtil.decode(""));
+    }
+
+    @Test
+    void testDecodeMalformed() {
+        assertThrows(BadRequestException.class, () -> CursorUtil.decode("!!!"));
+        assertThrows(BadRequestException.class, () -> CursorUtil.decode(encodeRaw("1700000000123")));
+        assertThrows(BadRequestException.class, () -> CursorUtil.decode(encodeRaw("abc:1")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}